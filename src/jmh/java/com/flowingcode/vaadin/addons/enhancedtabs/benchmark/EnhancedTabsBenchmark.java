@@ -0,0 +1,128 @@
+/*-
+ * #%L
+ * Enhanced Tabs Add-on
+ * %%
+ * Copyright (C) 2023-2026 Flowing Code
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package com.flowingcode.vaadin.addons.enhancedtabs.benchmark;
+
+import com.flowingcode.vaadin.addons.enhancedtabs.EnhancedTabs;
+import com.vaadin.flow.component.UI;
+import com.vaadin.flow.component.tabs.Tab;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Throughput of the server-side operations of {@link EnhancedTabs}, for detached components and
+ * for components attached to a mock UI. In the attached case, each operation is followed by a
+ * simulated round-trip (the pending executions and changes are collected and discarded). Run with
+ * {@code mvn -Pbenchmark test-compile exec:exec}; the allocation rate is reported by the GC
+ * profiler.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Thread)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EnhancedTabsBenchmark {
+
+  @Param({"10", "100", "1000", "10000"})
+  private int tabCount;
+
+  @Param({"false", "true"})
+  private boolean attached;
+
+  private UI ui;
+
+  private EnhancedTabs tabs;
+
+  private Tab[] children;
+
+  private int counter;
+
+  @Setup(Level.Trial)
+  public void setup() {
+    children = new Tab[tabCount];
+    for (int i = 0; i < tabCount; i++) {
+      children[i] = new Tab("Tab " + i);
+    }
+    tabs = new EnhancedTabs(children);
+
+    if (attached) {
+      ui = new UI();
+      UI.setCurrent(ui);
+      ui.add(tabs);
+      roundTrip();
+    }
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    UI.setCurrent(null);
+  }
+
+  private void roundTrip() {
+    if (ui != null) {
+      ui.getInternals().getStateTree().runExecutionsBeforeClientResponse();
+      ui.getInternals().dumpPendingJavaScriptInvocations();
+      ui.getInternals().getStateTree().collectChanges(change -> {});
+    }
+  }
+
+  private Tab nextTab() {
+    return children[(counter++ & Integer.MAX_VALUE) % tabCount];
+  }
+
+  @Benchmark
+  public int indexOf() {
+    return tabs.indexOf(nextTab());
+  }
+
+  @Benchmark
+  public Tab getTabAt() {
+    return tabs.getTabAt((counter++ & Integer.MAX_VALUE) % tabCount);
+  }
+
+  @Benchmark
+  public int setSelectedIndex() {
+    tabs.setSelectedIndex((counter++ & 1) == 0 ? 0 : tabCount - 1);
+    roundTrip();
+    return tabs.getSelectedIndex();
+  }
+
+  /** Removes a tab and adds it again at the end, so that the number of tabs is constant. */
+  @Benchmark
+  public int removeAndAdd() {
+    Tab tab = tabs.getTabAt(0);
+    tabs.remove(tab);
+    tabs.add(tab);
+    roundTrip();
+    return tabs.getTabCount();
+  }
+}
@@ -0,0 +1,191 @@
+/*-
+ * #%L
+ * Enhanced Tabs Add-on
+ * %%
+ * Copyright (C) 2023-2026 Flowing Code
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package com.flowingcode.vaadin.addons.enhancedtabs;
+
+import com.vaadin.flow.component.Component;
+import com.vaadin.flow.component.ComponentUtil;
+import com.vaadin.flow.component.Composite;
+import com.vaadin.flow.component.HasSize;
+import com.vaadin.flow.component.HasStyle;
+import com.vaadin.flow.component.html.Div;
+import com.vaadin.flow.component.tabs.Tab;
+import com.vaadin.flow.function.SerializableSupplier;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * A component that shows the content of the tab that is selected in an {@link EnhancedTabs}.
+ *
+ * <p>The content of each tab is created from a supplier the first time that the tab is selected.
+ * The content of the {@link #setCacheSize(int) most recently selected tabs} is kept, so that it can
+ * be shown again without calling the supplier. The content of the least recently selected tab is
+ * released when the cache is full, and created again if the tab is selected later.
+ */
+@SuppressWarnings("serial")
+public class EnhancedTabSheet extends Composite<Div> implements HasSize, HasStyle {
+
+  private static final int DEFAULT_CACHE_SIZE = 10;
+
+  private final EnhancedTabs tabs = new EnhancedTabs();
+
+  private final Div content = new Div();
+
+  private final Map<Tab, SerializableSupplier<? extends Component>> suppliers =
+      new IdentityHashMap<>();
+
+  // built content, in access order
+  private final LinkedHashMap<Tab, Component> cache = new LinkedHashMap<>(16, 0.75f, true);
+
+  private int cacheSize = DEFAULT_CACHE_SIZE;
+
+  /** Constructs an empty new object. */
+  public EnhancedTabSheet() {
+    content.setWidthFull();
+    content.addClassName("fc-enhanced-tab-sheet-content");
+    getContent().add(tabs, content);
+    tabs.addSelectedChangeListener(ev -> showContent(ev.getSelectedTab()));
+    ComponentUtil.addListener(
+        tabs, EnhancedTabs.TabsRemovedEvent.class, ev -> ev.getTabs().forEach(this::forget));
+  }
+
+  /**
+   * Gets the tabs of this component. Tabs that are removed through the returned component are
+   * forgotten as with {@link #remove(Tab)}: their content is released, and their supplier is
+   * dropped.
+   *
+   * @return the tabs
+   */
+  public EnhancedTabs getTabs() {
+    return tabs;
+  }
+
+  /**
+   * Adds a tab with the given label.
+   *
+   * @param label the label of the tab
+   * @param contentSupplier the supplier of the content, not {@code null}
+   * @return the added tab
+   */
+  public Tab add(String label, SerializableSupplier<? extends Component> contentSupplier) {
+    Tab tab = new Tab(label);
+    add(tab, contentSupplier);
+    return tab;
+  }
+
+  /**
+   * Adds the given tab. The content supplier is called the first time that the tab is selected,
+   * and again if the tab is selected after its content was released.
+   *
+   * @param tab the tab to add, not {@code null}
+   * @param contentSupplier the supplier of the content, not {@code null}
+   */
+  public void add(Tab tab, SerializableSupplier<? extends Component> contentSupplier) {
+    Objects.requireNonNull(tab, "Tab to add cannot be null");
+    Objects.requireNonNull(contentSupplier, "The content supplier cannot be null");
+    suppliers.put(tab, contentSupplier);
+    tabs.add(tab);
+  }
+
+  /**
+   * Removes the given tab and releases its content.
+   *
+   * @param tab the tab to remove
+   */
+  public void remove(Tab tab) {
+    tabs.remove(tab);
+  }
+
+  /**
+   * Sets the maximum number of tabs whose content is kept. The default value is 10.
+   *
+   * @param cacheSize the number of tabs whose content is kept, greater than 0
+   */
+  public void setCacheSize(int cacheSize) {
+    if (cacheSize < 1) {
+      throw new IllegalArgumentException("The cache size must be greater than 0: " + cacheSize);
+    }
+    this.cacheSize = cacheSize;
+    evict();
+  }
+
+  /**
+   * Gets the maximum number of tabs whose content is kept.
+   *
+   * @return the number of tabs whose content is kept
+   */
+  public int getCacheSize() {
+    return cacheSize;
+  }
+
+  /**
+   * Returns whether the content of the given tab has been built and not released.
+   *
+   * @param tab the tab
+   * @return {@code true} if the content of the tab is cached
+   */
+  public boolean isContentCached(Tab tab) {
+    return cache.containsKey(tab);
+  }
+
+  private void showContent(Tab tab) {
+    content.removeAll();
+    if (tab == null) {
+      return;
+    }
+
+    Component tabContent = cache.get(tab);
+    if (tabContent == null) {
+      SerializableSupplier<? extends Component> supplier = suppliers.get(tab);
+      if (supplier == null) {
+        return;
+      }
+      tabContent = supplier.get();
+      cache.put(tab, tabContent);
+      evict();
+    }
+    content.add(tabContent);
+  }
+
+  private void evict() {
+    Iterator<Map.Entry<Tab, Component>> it = cache.entrySet().iterator();
+    while (cache.size() > cacheSize && it.hasNext()) {
+      Map.Entry<Tab, Component> eldest = it.next();
+      if (eldest.getKey() != tabs.getSelectedTab()) {
+        it.remove();
+        eldest.getValue().getElement().removeFromParent();
+      }
+    }
+  }
+
+  private void forget(Tab tab) {
+    suppliers.remove(tab);
+    release(tab);
+  }
+
+  private void release(Tab tab) {
+    Component tabContent = cache.remove(tab);
+    if (tabContent != null) {
+      tabContent.getElement().removeFromParent();
+    }
+  }
+}
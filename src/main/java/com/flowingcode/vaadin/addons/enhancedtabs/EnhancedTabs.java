@@ -34,31 +34,63 @@
 package com.flowingcode.vaadin.addons.enhancedtabs;
 
 import com.vaadin.flow.component.AttachEvent;
+import com.vaadin.flow.component.ClickEvent;
 import com.vaadin.flow.component.Component;
 import com.vaadin.flow.component.ComponentEvent;
 import com.vaadin.flow.component.ComponentEventListener;
 import com.vaadin.flow.component.Composite;
+import com.vaadin.flow.component.ComponentUtil;
+import com.vaadin.flow.component.DebounceSettings;
+import com.vaadin.flow.component.DetachEvent;
+import com.vaadin.flow.component.DomEvent;
+import com.vaadin.flow.component.EventData;
 import com.vaadin.flow.component.HasEnabled;
 import com.vaadin.flow.component.HasSize;
 import com.vaadin.flow.component.HasStyle;
 import com.vaadin.flow.component.UI;
+import com.vaadin.flow.component.UIDetachedException;
 import com.vaadin.flow.component.contextmenu.MenuItem;
+import com.vaadin.flow.component.contextmenu.SubMenu;
 import com.vaadin.flow.component.dependency.CssImport;
 import com.vaadin.flow.component.dependency.JsModule;
+import com.vaadin.flow.component.html.Span;
 import com.vaadin.flow.component.menubar.MenuBar;
 import com.vaadin.flow.component.tabs.Tab;
 import com.vaadin.flow.component.tabs.Tabs;
+import com.vaadin.flow.dom.DebouncePhase;
+import com.vaadin.flow.dom.Element;
+import com.vaadin.flow.function.SerializableSupplier;
 import com.vaadin.flow.router.RouterLink;
+import com.vaadin.flow.server.VaadinService;
+import com.vaadin.flow.server.VaadinSession;
 import com.vaadin.flow.shared.Registration;
+import java.io.IOException;
+import java.io.ObjectInputStream;
 import java.io.Serializable;
+import java.lang.reflect.Field;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.lang.reflect.UndeclaredThrowableException;
 import java.util.ArrayList;
-import java.util.Iterator;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
 /**
@@ -78,7 +110,9 @@ import java.util.stream.Stream;
  * <p>
  * <strong>Note:</strong> Adding or removing Tab components via the Element API, eg. {@code
  * tabs.getElement().insertChild(0, tab.getElement()); }, doesn't update the selected index, so it
- * may cause the selected tab to change unexpectedly.
+ * may cause the selected tab to change unexpectedly. Tabs that are detached, moved or inserted
+ * this way are detected, and the position index is rebuilt, the next time they are looked up (see
+ * {@link #getTabCount()} for the number of tabs).
  */
 @JsModule("./fcEnhancedTabs/connector.js")
 @CssImport("./fcEnhancedTabs/fc-enhanced-tabs.css")
@@ -92,8 +126,69 @@ public class EnhancedTabs extends Composite<MenuBar> implements HasEnabled, HasS
 
   private boolean autoselect = true;
 
+  private transient Set<Tab> pendingTabs;
+
+  private transient boolean overflowDirty;
+
+  private transient boolean flushScheduled;
+
+  private transient boolean selectionSyncPending;
+
+  private static volatile EnhancedTabsMetrics defaultMetrics = EnhancedTabsMetrics.NOOP;
+
+  private EnhancedTabsMetrics metrics;
+
+  private Registration overflowMetricsRegistration;
+
+  private Registration keyboardSelectionRegistration;
+
+  private transient int reportedOverflowCalls;
+
+  private transient double reportedOverflowMillis;
+
   private int selectedIndex = -1;
 
+  // label and badge updates submitted from any thread, applied by flushUpdates
+  private final Map<Tab, TabUpdate> pendingUpdates = new ConcurrentHashMap<>();
+
+  private final AtomicBoolean updateScheduled = new AtomicBoolean();
+
+  private volatile long updateInterval = 200;
+
+  private transient volatile long lastUpdateFlush;
+
+  private transient volatile UI attachedUI;
+
+  // server-side index of the tabs, in the same order as the root items of the menu bar
+  private transient List<Tab> tabList = new ArrayList<>();
+
+  // the menu items of the tabs in tabList, used to validate the index
+  private transient List<MenuItem> itemList = new ArrayList<>();
+
+  private transient Map<Tab, Integer> tabPositions = new IdentityHashMap<>();
+
+  // positions of the disabled tabs, see setTabEnabled and checkEnabled
+  private transient BitSet disabledTabs = new BitSet();
+
+  private final Map<Tab, TabGroup> groups = new IdentityHashMap<>();
+
+  private transient Map<Tab, Tab> groupOfChild = new IdentityHashMap<>();
+
+  private Tab selectedChild;
+
+  private Registration groupOpenRegistration;
+
+  private transient TabSearchIndex searchIndex;
+
+  // shared by all the menu items, so that it is serialized only once
+  private final ComponentEventListener<ClickEvent<MenuItem>> itemClickListener =
+      ev -> setSelectedTab(getTab(ev.getSource()), ev.isFromClient());
+
+  private final ComponentEventListener<ClickEvent<MenuItem>> childClickListener =
+      ev -> selectChild(getTab(ev.getSource()), ev.isFromClient());
+
+  private Registration overflowFilterRegistration;
+
   /** Constructs an empty new object. */
   public EnhancedTabs() {
     setSelectedIndex(-1);
@@ -114,12 +209,608 @@ public class EnhancedTabs extends Composite<MenuBar> implements HasEnabled, HasS
     add(tabs);
   }
 
+  /**
+   * Restores the state that is not serialized. The position index, the enabled state of the tabs
+   * and the selected tab are derived from the menu items once the whole component tree has been
+   * deserialized. The UI is taken from the tree as well, since no attach event is fired when a
+   * session is deserialized, and a scheduled application of the updates is not carried over.
+   */
+  private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+    in.defaultReadObject();
+    tabList = new ArrayList<>();
+    itemList = new ArrayList<>();
+    tabPositions = new IdentityHashMap<>();
+    disabledTabs = new BitSet();
+    groupOfChild = new IdentityHashMap<>();
+    in.registerValidation(this::restoreState, 0);
+  }
+
+  private void restoreState() {
+    rebuildIndex();
+    groups.forEach(
+        (tab, group) -> {
+          if (group.children != null) {
+            group.children.forEach(child -> groupOfChild.put(child, tab));
+          }
+        });
+    selectedTab =
+        selectedIndex >= 0 && selectedIndex < tabList.size() ? tabList.get(selectedIndex) : null;
+    attachedUI = getUI().orElse(null);
+    updateScheduled.set(false);
+  }
+
   @Override
   protected void onAttach(AttachEvent event) {
     event
         .getUI()
         .getElement()
         .executeJs("window.Vaadin.Flow.fcEnhancedTabsConnector.initLazy($0)", getElement());
+    getMetrics().javaScriptExecuted(this, "initLazy");
+    updateOverflowMetricsListener();
+    initTabs(tabList);
+    initTabs(groupOfChild.keySet());
+    attachedUI = event.getUI();
+    flushUpdates();
+  }
+
+  @Override
+  protected void onDetach(DetachEvent event) {
+    attachedUI = null;
+  }
+
+  /**
+   * Updates the text label of the given tab. This method can be called from any thread, without
+   * holding the session lock.
+   *
+   * <p>Updates are buffered per tab, so that only the last label of each tab is applied, and all
+   * the pending updates are applied in a single {@link UI#access(com.vaadin.flow.server.Command)
+   * UI.access} at most once per {@link #setUpdateInterval(long) update interval}, followed by a
+   * single recomputation of the overflow. Updates submitted while the component is detached are
+   * applied when it is attached. Server push must be enabled for the updates to reach the client
+   * without waiting for another round-trip.
+   *
+   * <p>The label replaces the text nodes of the tab or, if the tab has no text nodes, the text of
+   * its first {@code span} (as in {@code new Tab(icon, new Span("Label"))}). Other components in
+   * the tab, such as the icon or the badge, are kept.
+   *
+   * @param tab the tab to update
+   * @param label the new label
+   */
+  public void updateTabLabel(Tab tab, String label) {
+    Objects.requireNonNull(tab, "Tab to update cannot be null");
+    Objects.requireNonNull(label, "Label cannot be null");
+    submitUpdate(tab, new TabUpdate(label, true, null, false));
+  }
+
+  /**
+   * Updates the badge that is displayed next to the label of the given tab, such as a counter of
+   * unread items. This method can be called from any thread, and updates are buffered as described
+   * in {@link #updateTabLabel(Tab, String)}.
+   *
+   * @param tab the tab to update
+   * @param badge the text of the badge, or {@code null} to remove it
+   */
+  public void updateTabBadge(Tab tab, String badge) {
+    Objects.requireNonNull(tab, "Tab to update cannot be null");
+    submitUpdate(tab, new TabUpdate(null, false, badge, true));
+  }
+
+  /**
+   * Sets the minimum time between two applications of the updates submitted with
+   * {@link #updateTabLabel(Tab, String)} and {@link #updateTabBadge(Tab, String)}. Defaults to 200
+   * milliseconds.
+   *
+   * @param updateInterval the interval in milliseconds
+   */
+  public void setUpdateInterval(long updateInterval) {
+    if (updateInterval < 0) {
+      throw new IllegalArgumentException("The update interval cannot be negative: " + updateInterval);
+    }
+    this.updateInterval = updateInterval;
+  }
+
+  /**
+   * Gets the minimum time between two applications of the buffered tab updates.
+   *
+   * @return the interval in milliseconds
+   * @see #setUpdateInterval(long)
+   */
+  public long getUpdateInterval() {
+    return updateInterval;
+  }
+
+  private void submitUpdate(Tab tab, TabUpdate update) {
+    pendingUpdates.merge(tab, update, TabUpdate::merge);
+    scheduleUpdates();
+  }
+
+  private void scheduleUpdates() {
+    UI ui = attachedUI;
+    if (ui == null || !updateScheduled.compareAndSet(false, true)) {
+      return;
+    }
+
+    long delay = 0;
+    long lastFlush = lastUpdateFlush;
+    if (lastFlush != 0) {
+      long interval = TimeUnit.MILLISECONDS.toNanos(updateInterval);
+      delay = Math.max(0, interval - (System.nanoTime() - lastFlush));
+    }
+
+    Runnable flush =
+        () -> {
+          try {
+            ui.access(this::flushUpdates);
+          } catch (UIDetachedException e) {
+            // the updates will be applied when the component is attached again
+            updateScheduled.set(false);
+          }
+        };
+
+    VaadinSession session = ui.getSession();
+    if (delay == 0 || session == null) {
+      flush.run();
+    } else {
+      UpdateScheduler.get(session.getService()).schedule(flush, delay);
+    }
+  }
+
+  private void flushUpdates() {
+    updateScheduled.set(false);
+    lastUpdateFlush = System.nanoTime();
+
+    boolean updated = false;
+    for (Tab tab : pendingUpdates.keySet()) {
+      TabUpdate update = pendingUpdates.remove(tab);
+      if (update != null) {
+        update.apply(tab);
+        updated = true;
+        if (searchIndex != null && tabPositions.containsKey(tab)) {
+          searchIndex.add(tab);
+        }
+      }
+    }
+
+    if (updated) {
+      requestOverflowDetection();
+    }
+  }
+
+  /**
+   * Delays the throttled updates. There is one scheduler per {@link VaadinService}, which is shut
+   * down when the service is destroyed, so that no thread outlives the application.
+   */
+  private static final class UpdateScheduler {
+
+    private final ScheduledExecutorService executor =
+        Executors.newSingleThreadScheduledExecutor(
+            runnable -> {
+              Thread thread = new Thread(runnable, "fc-enhanced-tabs-updates");
+              thread.setDaemon(true);
+              return thread;
+            });
+
+    static UpdateScheduler get(VaadinService service) {
+      return service
+          .getContext()
+          .getAttribute(
+              UpdateScheduler.class,
+              () -> {
+                UpdateScheduler scheduler = new UpdateScheduler();
+                service.addServiceDestroyListener(ev -> scheduler.executor.shutdownNow());
+                return scheduler;
+              });
+    }
+
+    void schedule(Runnable command, long delay) {
+      try {
+        executor.schedule(command, delay, TimeUnit.NANOSECONDS);
+      } catch (RejectedExecutionException e) {
+        // the service has been destroyed
+      }
+    }
+  }
+
+  private static final class TabUpdate implements Serializable {
+
+    private static final String BADGE_KEY = "fc-enhanced-tabs-badge";
+
+    private final String label;
+    private final boolean hasLabel;
+    private final String badge;
+    private final boolean hasBadge;
+
+    TabUpdate(String label, boolean hasLabel, String badge, boolean hasBadge) {
+      this.label = label;
+      this.hasLabel = hasLabel;
+      this.badge = badge;
+      this.hasBadge = hasBadge;
+    }
+
+    TabUpdate merge(TabUpdate next) {
+      return new TabUpdate(
+          next.hasLabel ? next.label : label,
+          hasLabel || next.hasLabel,
+          next.hasBadge ? next.badge : badge,
+          hasBadge || next.hasBadge);
+    }
+
+    void apply(Tab tab) {
+      Object data = ComponentUtil.getData(tab, BADGE_KEY);
+      Span span = data instanceof Span ? (Span) data : null;
+      if (hasLabel) {
+        applyLabel(tab.getElement(), span != null ? span.getElement() : null);
+      }
+      if (hasBadge) {
+        if (badge == null) {
+          if (span != null) {
+            span.getElement().removeFromParent();
+            ComponentUtil.setData(tab, BADGE_KEY, null);
+          }
+          return;
+        }
+        if (span == null) {
+          span = new Span();
+          span.addClassName(BADGE_KEY);
+          span.getElement().getThemeList().add("badge small pill");
+          ComponentUtil.setData(tab, BADGE_KEY, span);
+        }
+        span.setText(badge);
+        if (span.getParent().orElse(null) != tab) {
+          tab.add(span);
+        }
+      }
+    }
+
+    /** Returns the text of the tab, without the text of its badge. */
+    static String getLabel(Tab tab) {
+      Object data = ComponentUtil.getData(tab, BADGE_KEY);
+      Element badgeElement = data instanceof Span ? ((Span) data).getElement() : null;
+      return tab.getElement()
+          .getChildren()
+          .filter(child -> !child.equals(badgeElement))
+          .map(Element::getTextRecursively)
+          .collect(Collectors.joining());
+    }
+
+    /**
+     * Replaces the label of a tab. The label is held either by the text nodes of the tab, as in
+     * {@code new Tab("Label")}, or by the first {@code span} that is not the badge, as in {@code
+     * new Tab(icon, new Span("Label"))}. If there is no label yet, it is added before the badge.
+     */
+    private void applyLabel(Element element, Element badgeElement) {
+      List<Element> textNodes =
+          element.getChildren().filter(Element::isTextNode).collect(Collectors.toList());
+      if (textNodes.isEmpty()) {
+        Optional<Element> holder =
+            element
+                .getChildren()
+                .filter(child -> !child.equals(badgeElement) && "span".equals(child.getTag()))
+                .findFirst();
+        if (holder.isPresent()) {
+          holder.get().setText(label);
+          return;
+        }
+      }
+
+      int index =
+          badgeElement != null && element.equals(badgeElement.getParent())
+              ? element.indexOfChild(badgeElement)
+              : element.getChildCount();
+      if (!textNodes.isEmpty()) {
+        index = element.indexOfChild(textNodes.get(0));
+        textNodes.forEach(element::removeChild);
+      }
+      element.insertChild(index, Element.createText(label));
+    }
+  }
+
+  /**
+   * Returns the label of the given tab, that is, its text without the badge set with {@link
+   * #updateTabBadge(Tab, String)}.
+   */
+  static String getLabel(Tab tab) {
+    return TabUpdate.getLabel(tab);
+  }
+
+  /**
+   * Sets the metrics implementation that is used by all the components that don't have their own
+   * {@link #setMetrics(EnhancedTabsMetrics) metrics}. Defaults to {@link EnhancedTabsMetrics#NOOP}.
+   * Components that are already attached start reporting overflow recomputations to the new
+   * default after they are attached again.
+   *
+   * @param metrics the metrics implementation, not {@code null}
+   */
+  public static void setDefaultMetrics(EnhancedTabsMetrics metrics) {
+    defaultMetrics = Objects.requireNonNull(metrics, "Metrics cannot be null");
+  }
+
+  /**
+   * Gets the metrics implementation that is used by all the components that don't have their own
+   * metrics.
+   *
+   * @return the default metrics implementation
+   */
+  public static EnhancedTabsMetrics getDefaultMetrics() {
+    return defaultMetrics;
+  }
+
+  /**
+   * Sets the metrics implementation of this component.
+   *
+   * @param metrics the metrics implementation, or {@code null} for using the {@link
+   *     #setDefaultMetrics(EnhancedTabsMetrics) default metrics}
+   */
+  public void setMetrics(EnhancedTabsMetrics metrics) {
+    this.metrics = metrics;
+    updateOverflowMetricsListener();
+  }
+
+  /**
+   * Gets the metrics implementation of this component.
+   *
+   * @return the metrics implementation of this component, or the default metrics if none has been
+   *     set
+   */
+  public EnhancedTabsMetrics getMetrics() {
+    return metrics != null ? metrics : defaultMetrics;
+  }
+
+  /**
+   * An event with the overflow recomputations reported by the client since it was attached. It is
+   * listened only when metrics are enabled.
+   */
+  @DomEvent(
+      value = "fc-enhanced-tabs-overflow",
+      debounce = @DebounceSettings(timeout = 1000, phases = DebouncePhase.TRAILING))
+  public static class OverflowReportEvent extends ComponentEvent<EnhancedTabs> {
+    private final int calls;
+    private final double millis;
+
+    /**
+     * Creates a new overflow report event.
+     *
+     * @param source The tabs that fired the event.
+     * @param fromClient <code>true</code> for client-side events, <code>false</code> otherwise.
+     * @param calls The number of overflow recomputations.
+     * @param millis The total duration of the overflow recomputations, in milliseconds.
+     */
+    public OverflowReportEvent(
+        EnhancedTabs source,
+        boolean fromClient,
+        @EventData("event.detail.calls") int calls,
+        @EventData("event.detail.millis") double millis) {
+      super(source, fromClient);
+      this.calls = calls;
+      this.millis = millis;
+    }
+
+    /**
+     * Gets the number of overflow recomputations since the client was attached.
+     *
+     * @return the number of overflow recomputations
+     */
+    public int getCalls() {
+      return calls;
+    }
+
+    /**
+     * Gets the total duration of the overflow recomputations since the client was attached.
+     *
+     * @return the total duration, in milliseconds
+     */
+    public double getMillis() {
+      return millis;
+    }
+  }
+
+  private void updateOverflowMetricsListener() {
+    boolean enabled = getMetrics() != EnhancedTabsMetrics.NOOP;
+    if (enabled && overflowMetricsRegistration == null) {
+      overflowMetricsRegistration = addListener(OverflowReportEvent.class, this::onOverflowReport);
+    } else if (!enabled && overflowMetricsRegistration != null) {
+      overflowMetricsRegistration.remove();
+      overflowMetricsRegistration = null;
+    }
+  }
+
+  private void onOverflowReport(OverflowReportEvent ev) {
+    // the client reports cumulative values, which restart when the client is attached again
+    if (ev.getCalls() < reportedOverflowCalls) {
+      reportedOverflowCalls = 0;
+      reportedOverflowMillis = 0;
+    }
+    int calls = ev.getCalls() - reportedOverflowCalls;
+    double millis = ev.getMillis() - reportedOverflowMillis;
+    reportedOverflowCalls = ev.getCalls();
+    reportedOverflowMillis = ev.getMillis();
+    if (calls > 0) {
+      getMetrics().overflowDetected(this, calls, millis);
+    }
+  }
+
+  /**
+   * Schedules the client-side setup of the given tabs. The setup of all the tabs that are added or
+   * moved during the same round-trip is performed by a single call to the connector.
+   */
+  private void initTabs(Collection<Tab> tabs) {
+    if (!getElement().getNode().isAttached()) {
+      // the tabs will be initialized when this component is attached
+      return;
+    }
+    if (pendingTabs == null) {
+      pendingTabs = new LinkedHashSet<>();
+    }
+    pendingTabs.addAll(tabs);
+    scheduleFlush();
+  }
+
+  /**
+   * Schedules a recomputation of the overflow. At most one recomputation is sent to the client per
+   * round-trip, regardless of how many changes required it.
+   */
+  private void requestOverflowDetection() {
+    if (getElement().getNode().isAttached()) {
+      overflowDirty = true;
+      scheduleFlush();
+    }
+  }
+
+  private void scheduleFlush() {
+    if (!flushScheduled) {
+      flushScheduled = true;
+      getUI().ifPresent(ui -> ui.beforeClientResponse(this, context -> flush()));
+    }
+  }
+
+  private void flush() {
+    flushScheduled = false;
+    flushPendingTabs();
+    if (selectionSyncPending) {
+      selectionSyncPending = false;
+      getElement()
+          .executeJs(
+              "window.Vaadin.Flow.fcEnhancedTabsConnector.syncSelection(this, $0)",
+              selectedTab != null && isChild(selectedTab) ? selectedTab.getElement() : null);
+      getMetrics().javaScriptExecuted(this, "syncSelection");
+    }
+    if (overflowDirty) {
+      overflowDirty = false;
+      getElement().executeJs("this.__detectOverflow()");
+      getMetrics().javaScriptExecuted(this, "detectOverflow");
+    }
+  }
+
+  private void flushPendingTabs() {
+    Set<Tab> tabs = pendingTabs;
+    pendingTabs = null;
+    if (tabs == null) {
+      return;
+    }
+
+    Serializable[] elements =
+        tabs.stream()
+            .filter(tab -> isChild(tab) || groupOfChild.containsKey(tab))
+            .map(Tab::getElement)
+            .toArray(Serializable[]::new);
+    if (elements.length > 0) {
+      String args =
+          IntStream.range(0, elements.length)
+              .mapToObj(i -> "$" + i)
+              .collect(Collectors.joining(","));
+      getElement()
+          .executeJs(
+              "window.Vaadin.Flow.fcEnhancedTabsConnector.initTabs(this, [" + args + "])",
+              elements);
+      getMetrics().javaScriptExecuted(this, "initTabs");
+    }
+  }
+
+  /**
+   * Sets whether the overflow menu shows a filter field. Typing in the field filters the overflowed
+   * tabs whose label contains the text, ignoring case, showing at most
+   * {@link #setOverflowPageSize(int) overflow page size} results.
+   *
+   * <p>The labels are kept in a server-side n-gram index while the filter is enabled. The index is
+   * updated incrementally when tabs are added, removed or replaced, and when their labels are
+   * updated with {@link #updateTabLabel(Tab, String)}. Defaults to {@code false}.
+   *
+   * @param overflowFilter {@code true} to show the filter field, {@code false} to hide it
+   */
+  public void setOverflowFilter(boolean overflowFilter) {
+    getElement().setProperty("overflowFilter", overflowFilter);
+    if (overflowFilter && overflowFilterRegistration == null) {
+      overflowFilterRegistration = addListener(OverflowFilterEvent.class, this::onOverflowFilter);
+    } else if (!overflowFilter && overflowFilterRegistration != null) {
+      overflowFilterRegistration.remove();
+      overflowFilterRegistration = null;
+      searchIndex = null;
+    }
+  }
+
+  /**
+   * Gets whether the overflow menu shows a filter field.
+   *
+   * @return {@code true} if the filter field is shown, {@code false} otherwise
+   * @see #setOverflowFilter(boolean)
+   */
+  public boolean isOverflowFilter() {
+    return getElement().getProperty("overflowFilter", false);
+  }
+
+  /**
+   * Sets the placeholder of the filter field of the overflow menu.
+   *
+   * @param placeholder the placeholder text
+   */
+  public void setOverflowFilterPlaceholder(String placeholder) {
+    getElement().setProperty("overflowFilterPlaceholder", placeholder);
+  }
+
+  /** An event fired by the client when the text of the overflow filter changes. */
+  @DomEvent("fc-enhanced-tabs-filter")
+  public static class OverflowFilterEvent extends ComponentEvent<EnhancedTabs> {
+    private final String query;
+    private final int start;
+
+    /**
+     * Creates a new overflow filter event.
+     *
+     * @param source The tabs that fired the event.
+     * @param fromClient <code>true</code> for client-side events, <code>false</code> otherwise.
+     * @param query The text of the filter.
+     * @param start The index of the first overflowed tab.
+     */
+    public OverflowFilterEvent(
+        EnhancedTabs source,
+        boolean fromClient,
+        @EventData("event.detail.query") String query,
+        @EventData("event.detail.start") int start) {
+      super(source, fromClient);
+      this.query = query;
+      this.start = start;
+    }
+
+    /**
+     * Gets the text of the filter.
+     *
+     * @return the text of the filter
+     */
+    public String getQuery() {
+      return query;
+    }
+
+    /**
+     * Gets the index of the first overflowed tab.
+     *
+     * @return the index of the first overflowed tab
+     */
+    public int getStart() {
+      return start;
+    }
+  }
+
+  private void onOverflowFilter(OverflowFilterEvent ev) {
+    if (searchIndex == null) {
+      searchIndex = new TabSearchIndex();
+      tabList.forEach(searchIndex::add);
+    }
+
+    String query = ev.getQuery() == null ? "" : ev.getQuery();
+    String indices =
+        searchIndex.search(query).stream()
+            .map(tabPositions::get)
+            .filter(index -> index != null && index >= ev.getStart())
+            .sorted()
+            .limit(getOverflowPageSize())
+            .map(String::valueOf)
+            .collect(Collectors.joining(","));
+    getElement()
+        .executeJs(
+            "window.Vaadin.Flow.fcEnhancedTabsConnector.setFilterResults(this, $0, $1)",
+            query,
+            indices);
+    getMetrics().javaScriptExecuted(this, "setFilterResults");
   }
 
   /**
@@ -133,6 +824,29 @@ public class EnhancedTabs extends Composite<MenuBar> implements HasEnabled, HasS
     getContent().setOpenOnHover(openOnHover);
   }
 
+  /**
+   * Sets the maximum number of items that are rendered at once in the overflow menu. The rendered
+   * window slides when the menu is scrolled to either end. Defaults to 50.
+   *
+   * @param overflowPageSize the number of rendered items, greater than 0
+   */
+  public void setOverflowPageSize(int overflowPageSize) {
+    if (overflowPageSize < 1) {
+      throw new IllegalArgumentException(
+          "The overflow page size must be greater than 0: " + overflowPageSize);
+    }
+    getElement().setProperty("overflowPageSize", overflowPageSize);
+  }
+
+  /**
+   * Gets the maximum number of items that are rendered at once in the overflow menu.
+   *
+   * @return the number of rendered items
+   */
+  public int getOverflowPageSize() {
+    return getElement().getProperty("overflowPageSize", 50);
+  }
+
   /**
    * Gets whether the submenu opens by clicking or hovering on the overflow buttons.
    *
@@ -172,32 +886,39 @@ public class EnhancedTabs extends Composite<MenuBar> implements HasEnabled, HasS
    * @param tabs the tabs to enclose
    */
   public void add(Tab... tabs) {
+    Objects.requireNonNull(tabs, "Tabs should not be null");
+    addAll(Arrays.asList(tabs));
+  }
+
+  /**
+   * Adds the given tabs to the component.
+   *
+   * <p>This method behaves like {@link #add(Tab...)}. The client-side setup of the added tabs is
+   * performed in a single call for the whole collection.
+   *
+   * @param tabs the tabs to enclose
+   */
+  public void addAll(Collection<Tab> tabs) {
     Objects.requireNonNull(tabs, "Tabs should not be null");
     boolean wasEmpty = getComponentCount() == 0;
 
     for (Tab tab : tabs) {
       Objects.requireNonNull(tab, "Tab to add cannot be null");
-      MenuItem item = getContent().addItem(tab);
-      item.addClickListener(ev -> setSelectedTab(getTab(ev.getSource()), ev.isFromClient()));
-
-      // this is a workaround for
-      // https://github.com/vaadin/web-components/blob/c805b384cf9c3691b8310af30de85af07fced5f7/packages/context-menu/src/vaadin-contextmenu-items-mixin.js#L225
-      tab.addAttachListener(ev -> tab.getElement().executeJs("this._item = {children:{}};"));
-
-      // close on click
-      // Vaadin 23: vaadin-context-menu-overlay
-      // Vaadin 24: vaadin-menu-bar-overlay
-      tab.addAttachListener(
-          ev ->
-              tab.getElement()
-                  .executeJs(
-                  "this.addEventListener('click', ()=>{let overlay = this.closest('vaadin-menu-bar-overlay, vaadin-context-menu-overlay'); overlay && overlay.close();})",
-                  this));
+      if (tabPositions.containsKey(tab)) {
+        // adding a child tab moves it to the end
+        doRemoveTabs(tab);
+        removeFromIndex(tab);
+      }
+      itemList.add(addMenuItem(tab));
+      tabPositions.put(tab, tabList.size());
+      tabList.add(tab);
+      updateEnabledBit(tabList.size() - 1);
     }
 
-    if (tabs.length == 0) {
+    if (tabs.isEmpty()) {
       return;
     }
+    initTabs(tabs);
     if (wasEmpty && autoselect) {
       assert getSelectedIndex() == -1;
       setSelectedIndex(0);
@@ -206,149 +927,941 @@ public class EnhancedTabs extends Composite<MenuBar> implements HasEnabled, HasS
     }
   }
 
-  private static final Method UI_navigate;
-  static {
-    try {
-      UI_navigate = UI.class.getMethod("navigate", Class.class);
-    } catch (NoSuchMethodException e) {
-      throw new NoSuchMethodError("UI.navigate(Class)");
+  private MenuItem addMenuItem(Tab tab) {
+    clearStaleSelection(tab);
+    MenuItem item = getContent().addItem(tab);
+    item.addClickListener(itemClickListener);
+    syncSubMenu(item, tab);
+    if (searchIndex != null) {
+      searchIndex.add(tab);
     }
+    return item;
   }
 
-  private static void navigate(UI ui, Class<? extends Component> target) {
-    try {
-      UI_navigate.invoke(ui, target);
+  /**
+   * Adds a group of tabs. The group tab is added as the other tabs, and opens a submenu with the
+   * child tabs.
+   *
+   * <p>The children are obtained from the supplier the first time that the group is opened (either
+   * from the menu bar or from the overflow menu), and kept afterwards. Selecting a child tab
+   * selects the group tab, and the child tab is returned by {@link #getSelectedChildTab()}. A
+   * {@link SelectedChangeEvent} is also fired when another child of the selected group is
+   * selected.
+   *
+   * @param tab the group tab
+   * @param children the supplier of the child tabs
+   */
+  public void addGroup(Tab tab, SerializableSupplier<? extends Collection<Tab>> children) {
+    Objects.requireNonNull(tab, "Tab to add cannot be null");
+    Objects.requireNonNull(children, "The children supplier cannot be null");
+    forgetGroups(Collections.singletonList(tab));
+    groups.put(tab, new TabGroup(children));
+    tab.getElement().setAttribute("fc-enhanced-tabs-lazy-group", true);
+    if (groupOpenRegistration == null) {
+      groupOpenRegistration = addListener(GroupOpenEvent.class, ev -> populateGroup(ev.getIndex()));
+    }
+    if (tabPositions.containsKey(tab)) {
+      syncSubMenu(getMenuItem(tab).get(), tab);
+    } else {
+      add(tab);
+    }
+  }
+
+  /**
+   * Gets the child tabs of the given group, if they have been populated.
+   *
+   * @param group the group tab
+   * @return the child tabs, or an empty list if the tab is not a group or its children have not
+   *     been requested yet
+   */
+  public List<Tab> getGroupChildren(Tab group) {
+    TabGroup tabGroup = groups.get(group);
+    return tabGroup == null || tabGroup.children == null
+        ? Collections.emptyList()
+        : Collections.unmodifiableList(tabGroup.children);
+  }
+
+  /**
+   * Gets the selected tab within the selected group.
+   *
+   * @return the selected child tab, or {@code null} if the selected tab is not a group or none of
+   *     its children is selected
+   */
+  public Tab getSelectedChildTab() {
+    return selectedChild;
+  }
+
+  private static final class TabGroup implements Serializable {
+    private SerializableSupplier<? extends Collection<Tab>> supplier;
+    private List<Tab> children;
+
+    TabGroup(SerializableSupplier<? extends Collection<Tab>> supplier) {
+      this.supplier = supplier;
+    }
+  }
+
+  /** An event fired by the client when a group whose children have not been populated is shown. */
+  @DomEvent("fc-enhanced-tabs-group-open")
+  public static class GroupOpenEvent extends ComponentEvent<EnhancedTabs> {
+    private final int index;
+
+    /**
+     * Creates a new group open event.
+     *
+     * @param source The tabs that fired the event.
+     * @param fromClient <code>true</code> for client-side events, <code>false</code> otherwise.
+     * @param index The index of the group tab.
+     */
+    public GroupOpenEvent(
+        EnhancedTabs source, boolean fromClient, @EventData("event.detail.index") int index) {
+      super(source, fromClient);
+      this.index = index;
+    }
+
+    /**
+     * Gets the index of the group tab.
+     *
+     * @return the index of the group tab
+     */
+    public int getIndex() {
+      return index;
+    }
+  }
+
+  private void populateGroup(int index) {
+    if (index < 0 || index >= getTabCount()) {
+      return;
+    }
+    Tab tab = getTabAt(index);
+    TabGroup group = groups.get(tab);
+    if (group == null || group.children != null) {
+      return;
+    }
+
+    // a supplier that returns null is handled as an empty group
+    Collection<Tab> children = group.supplier.get();
+    group.children = children == null ? new ArrayList<>() : new ArrayList<>(children);
+    group.supplier = null;
+    for (Tab child : group.children) {
+      groupOfChild.put(child, tab);
+    }
+    tab.getElement().removeAttribute("fc-enhanced-tabs-lazy-group");
+    syncSubMenu(getMenuItem(tab).get(), tab);
+    initTabs(group.children);
+  }
+
+  /** Updates the submenu of the given item, after the given tab has been placed into it. */
+  private void syncSubMenu(MenuItem item, Tab tab) {
+    TabGroup group = groups.get(tab);
+    if (group == null && !item.isParentItem()) {
+      return;
+    }
+
+    SubMenu subMenu = item.getSubMenu();
+    subMenu.removeAll();
+    if (group == null) {
+      return;
+    }
+
+    if (group.children == null) {
+      // placeholder, so that the submenu can be opened
+      subMenu.addItem("\u2026").setEnabled(false);
+    } else {
+      for (Tab child : group.children) {
+        subMenu.addItem(child).addClickListener(childClickListener);
+      }
+    }
+  }
+
+  /** Drops the data that is kept for the given tabs, after they have been removed. */
+  private void tabsRemoved(Collection<Tab> tabs) {
+    forgetGroups(tabs);
+    if (searchIndex != null) {
+      tabs.forEach(searchIndex::remove);
+    }
+    if (!tabs.isEmpty() && hasListener(TabsRemovedEvent.class)) {
+      fireEvent(new TabsRemovedEvent(this, new ArrayList<>(tabs)));
+    }
+  }
+
+  /**
+   * An event to mark that tabs have been removed, so that the components that keep data per tab,
+   * such as {@link EnhancedTabSheet}, can release it.
+   */
+  static class TabsRemovedEvent extends ComponentEvent<EnhancedTabs> {
+    private final List<Tab> tabs;
+
+    TabsRemovedEvent(EnhancedTabs source, List<Tab> tabs) {
+      super(source, false);
+      this.tabs = tabs;
+    }
+
+    List<Tab> getTabs() {
+      return tabs;
+    }
+  }
+
+  private void forgetGroups(Collection<Tab> tabs) {
+    if (groups.isEmpty()) {
+      return;
+    }
+    for (Tab tab : tabs) {
+      TabGroup group = groups.remove(tab);
+      if (group != null && group.children != null) {
+        if (groupOfChild.get(selectedChild) == tab) {
+          clearSelectedChild();
+        }
+        group.children.forEach(groupOfChild::remove);
+      }
+    }
+  }
+
+  private void clearSelectedChild() {
+    if (selectedChild != null) {
+      selectedChild.setSelected(false);
+      selectedChild = null;
+    }
+  }
+
+  private void selectChild(Tab child, boolean changedFromClient) {
+    Tab group = groupOfChild.get(child);
+    if (group == null || child == selectedChild) {
+      return;
+    }
+    if (changedFromClient && isVetoed(child)) {
+      syncClientSelection();
+      return;
+    }
+    if (!isEnabled(child)) {
+      updateEnabled(child);
+      return;
+    }
+
+    Tab previousChild = selectedChild;
+    if (previousChild != null) {
+      previousChild.setSelected(false);
+    }
+    selectedChild = child;
+    child.setSelected(true);
+
+    int index = indexOf(group);
+    if (index == getSelectedIndex() && selectedTab == group) {
+      fireEvent(new SelectedChangeEvent(this, selectedTab, changedFromClient));
+    } else {
+      setSelectedIndex(index, changedFromClient);
+    }
+  }
+
+  /**
+   * Sets the tabs of this component, reusing the current menu items. Tabs that are not in the given
+   * list are removed, tabs that were not children are added, and the remaining tabs are moved to
+   * their new positions.
+   *
+   * <p>Only the positions that actually change are updated: the removed tabs, the added tabs, and
+   * the fewest tabs that must be moved so that the other tabs keep their relative order. The added
+   * and moved tabs are inserted at their positions as with {@link #moveTab(Tab, int)}, and the
+   * other tabs are not touched. If the selected tab is kept, it remains selected and no {@link
+   * SelectedChangeEvent} is fired. Otherwise, the selection changes as with {@link
+   * #remove(Tab...)} and at most one event is fired.
+   *
+   * @param tabs the new tabs, in order
+   * @throws IllegalArgumentException if the list contains the same tab more than once
+   */
+  public void setTabs(List<Tab> tabs) {
+    Objects.requireNonNull(tabs, "Tabs should not be null");
+    Map<Tab, Integer> target = new IdentityHashMap<>(tabs.size());
+    for (int i = 0; i < tabs.size(); i++) {
+      Tab tab = Objects.requireNonNull(tabs.get(i), "Tab to add cannot be null");
+      if (target.put(tab, i) != null) {
+        throw new IllegalArgumentException("The tab is contained more than once: " + tab);
+      }
+    }
+
+    validateIndex();
+
+    Tab selected = getSelectedTab();
+    int oldSelectedIndex = getSelectedIndex();
+    boolean wasEmpty = tabList.isEmpty();
+
+    // remove the tabs that are not kept, in a single operation
+    List<Tab> removed = new ArrayList<>();
+    List<MenuItem> toRemove = new ArrayList<>();
+    for (int i = 0; i < tabList.size(); i++) {
+      if (!target.containsKey(tabList.get(i))) {
+        removed.add(tabList.get(i));
+        toRemove.add(itemList.get(i));
+      }
+    }
+    if (!removed.isEmpty()) {
+      getContent().remove(toRemove.toArray(new MenuItem[0]));
+      removeFromIndex(removed);
+      tabsRemoved(removed);
+    }
+
+    // from the last position, insert each tab that is not stable before the tab that follows it
+    Set<Tab> stable = findStableTabs(tabs);
+    List<Tab> updated = new ArrayList<>();
+    for (int i = tabs.size() - 1; i >= 0; i--) {
+      Tab tab = tabs.get(i);
+      if (stable.contains(tab)) {
+        continue;
+      }
+      int next = i + 1 < tabs.size() ? tabPositions.get(tabs.get(i + 1)) : tabList.size();
+      Integer from = tabPositions.get(tab);
+      if (from == null) {
+        insertTab(tab, next, updated);
+      } else {
+        moveTabAt(from, from < next ? next - 1 : next, updated);
+      }
+    }
+
+    if (!updated.isEmpty()) {
+      initTabs(updated);
+    }
+    if (!updated.isEmpty() || !removed.isEmpty()) {
+      requestOverflowDetection();
+    }
+
+    if (selected != null && target.containsKey(selected)) {
+      selectedIndex = target.get(selected);
+    } else if (tabs.isEmpty()) {
+      selectedIndex = -1;
+    } else if (selected == null) {
+      selectedIndex = wasEmpty && autoselect ? 0 : -1;
+    } else {
+      selectedIndex = autoselect ? nearestEnabled(Math.min(oldSelectedIndex, tabs.size() - 1)) : -1;
+    }
+    updateSelectedTab(false);
+  }
+
+  /**
+   * Returns the tabs of the given list that keep their positions in {@link #setTabs(List)}: a
+   * longest sequence of current tabs whose order is the same in the given list.
+   */
+  private Set<Tab> findStableTabs(List<Tab> tabs) {
+    // the current positions of the tabs that are kept, in the new order
+    List<Tab> kept = new ArrayList<>();
+    for (Tab tab : tabs) {
+      if (tabPositions.containsKey(tab)) {
+        kept.add(tab);
+      }
+    }
+
+    // longest increasing subsequence of the positions, in O(n log n)
+    int[] tails = new int[kept.size()];
+    int[] previous = new int[kept.size()];
+    int length = 0;
+    for (int i = 0; i < kept.size(); i++) {
+      int position = tabPositions.get(kept.get(i));
+      int lo = 0;
+      int hi = length;
+      while (lo < hi) {
+        int mid = (lo + hi) >>> 1;
+        if (tabPositions.get(kept.get(tails[mid])) < position) {
+          lo = mid + 1;
+        } else {
+          hi = mid;
+        }
+      }
+      previous[i] = lo > 0 ? tails[lo - 1] : -1;
+      tails[lo] = i;
+      length = Math.max(length, lo + 1);
+    }
+
+    Set<Tab> stable = Collections.newSetFromMap(new IdentityHashMap<>());
+    for (int i = length > 0 ? tails[length - 1] : -1; i >= 0; i = previous[i]) {
+      stable.add(kept.get(i));
+    }
+    return stable;
+  }
+
+  /**
+   * Adds a tab at the given position, and adds it to the given collection, so that it is set up on
+   * the client.
+   */
+  private void insertTab(Tab tab, int index, Collection<Tab> added) {
+    int end = tabList.size();
+    MenuItem item;
+    if (index < end && moveMenuItems) {
+      // an empty item is moved into place, so that the tab is attached only once
+      item = getContent().addItem("");
+      moveMenuItem(item, index);
+      item.addClickListener(itemClickListener);
+      replaceTab(item, tab);
+      tabList.add(index, tab);
+      itemList.add(index, item);
+      reindex(index);
+      added.add(tab);
+    } else {
+      itemList.add(addMenuItem(tab));
+      tabList.add(tab);
+      reindex(end);
+      added.add(tab);
+      if (index < end) {
+        moveTabAt(end, index, added);
+      }
+    }
+  }
+
+  private static final Method UI_navigate;
+  static {
+    try {
+      UI_navigate = UI.class.getMethod("navigate", Class.class);
+    } catch (NoSuchMethodException e) {
+      throw new NoSuchMethodError("UI.navigate(Class)");
+    }
+  }
+
+  static void navigate(UI ui, Class<? extends Component> target) {
+    try {
+      UI_navigate.invoke(ui, target);
+    } catch (IllegalAccessException | IllegalArgumentException | InvocationTargetException e) {
+      throw new UndeclaredThrowableException(e);
+    }
+  }
+
+  public RouterLink addRouterLink(String text, Class<? extends Component> target) {
+    RouterLink routerLink = new RouterLink(text, target);
+
+    // the click is intercepted by the connector, which dispatches client-side-click instead
+    routerLink.getElement().setAttribute("fc-enhanced-tabs-link", true);
+    routerLink.getElement().addEventListener("client-side-click", event -> {
+      navigate(UI.getCurrent(), target);
+    });
+
+    add(new Tab(routerLink));
+    return routerLink;
+  }
+
+  /**
+   * Removes the given child tabs from this component.
+   *
+   * @param tabs the tabs to remove
+   * @throws IllegalArgumentException if there is a tab whose non {@code null} parent is not this
+   *     component
+   *     <p>Removing tabs before the selected tab will decrease the {@link #getSelectedIndex()
+   *     selected index} to avoid changing the selected tab. Removing the selected tab will select
+   *     the next available tab if autoselect is true, otherwise no tab will be selected.
+   */
+  public void remove(Tab... tabs) {
+    Objects.requireNonNull(tabs, "Tabs should not be null");
+    removeAll(Arrays.asList(tabs));
+  }
+
+  /**
+   * Removes the tabs in the given range.
+   *
+   * @param from the index of the first tab to remove (inclusive)
+   * @param to the index after the last tab to remove (exclusive)
+   * @throws IndexOutOfBoundsException if {@code from < 0}, {@code to > getTabCount()} or {@code
+   *     from > to}
+   * @see #removeAll(Collection)
+   */
+  public void removeRange(int from, int to) {
+    if (from < 0 || to > getTabCount() || from > to) {
+      throw new IndexOutOfBoundsException(
+          "Invalid range [" + from + ", " + to + ") for " + getTabCount() + " tabs");
+    }
+    removeAll(new ArrayList<>(tabList.subList(from, to)));
+  }
+
+  /**
+   * Removes the given child tabs from this component.
+   *
+   * <p>This method behaves like {@link #remove(Tab...)}. The menu items are removed in a single
+   * operation, the new selected index is computed in one pass, and at most one
+   * {@link SelectedChangeEvent} is fired.
+   *
+   * @param tabs the tabs to remove
+   * @throws IllegalArgumentException if there is a tab whose non {@code null} parent is not this
+   *     component
+   */
+  public void removeAll(Collection<Tab> tabs) {
+    Objects.requireNonNull(tabs, "Tabs should not be null");
+    int selectedIndex = getSelectedIndex();
+    Tab selectedTab = getSelectedTab();
+    boolean isSelectedTab = selectedTab == null;
+    int lowerIndices = 0;
+
+    Set<Tab> removed = Collections.newSetFromMap(new IdentityHashMap<>());
+    List<MenuItem> items = new ArrayList<>(tabs.size());
+    for (Tab tab : tabs) {
+      Objects.requireNonNull(tab, "Tab to remove cannot be null");
+      Optional<MenuItem> item = getMenuItem(tab);
+      if (item.isPresent() && removed.add(tab)) {
+        items.add(item.get());
+        int index = indexOf(tab);
+        if (index >= 0 && index < selectedIndex) {
+          ++lowerIndices;
+        }
+        isSelectedTab |= tab == selectedTab;
+      }
+    }
+
+    getContent().remove(items.toArray(new MenuItem[0]));
+    removeFromIndex(removed);
+    tabsRemoved(removed);
+
+    // Prevents changing the selected tab
+    int newSelectedIndex = getSelectedIndex() - lowerIndices;
+
+    // In case the last tab was removed
+    if (newSelectedIndex > 0 && newSelectedIndex >= getComponentCount()) {
+      newSelectedIndex = getComponentCount() - 1;
+    }
+
+    if (getComponentCount() == 0 || (isSelectedTab && !isAutoselect())) {
+      newSelectedIndex = -1;
+    } else if (isSelectedTab && newSelectedIndex >= 0) {
+      // the selected tab was removed, select the next available tab
+      newSelectedIndex = nearestEnabled(newSelectedIndex);
+    }
+
+    if (newSelectedIndex != getSelectedIndex()) {
+      setSelectedIndex(newSelectedIndex);
+    } else {
+      updateSelectedTab(false);
+    }
+  }
+
+  private void doRemoveTabs(Tab... tabs) {
+    List<MenuItem> toRemove = new ArrayList<>(tabs.length);
+    for (Tab tab : tabs) {
+      Objects.requireNonNull(tab, "Tab to remove cannot be null");
+      getMenuItem(tab).ifPresent(toRemove::add);
+    }
+    getContent().remove(toRemove.toArray(new MenuItem[0]));
+  }
+
+  /**
+   * Removes all tabs from this component. It also removes the children that were added only at the
+   * client-side.
+   *
+   * <p>This will reset the {@link #getSelectedIndex() selected index} to zero.
+   */
+  public void removeAll() {
+    List<Tab> removed = new ArrayList<>(tabList);
+    getElement().removeAllChildren();
+    tabList.clear();
+    itemList.clear();
+    tabPositions.clear();
+    disabledTabs.clear();
+    groups.clear();
+    groupOfChild.clear();
+    clearSelectedChild();
+    if (searchIndex != null) {
+      searchIndex.clear();
+    }
+    if (!removed.isEmpty() && hasListener(TabsRemovedEvent.class)) {
+      fireEvent(new TabsRemovedEvent(this, removed));
+    }
+    if (getSelectedIndex() > -1) {
+      setSelectedIndex(-1);
+    } else {
+      updateSelectedTab(false);
+    }
+  }
+
+  /**
+   * Replaces the tab in the container with another one without changing position. This method
+   * replaces tab with another one is such way that the new tab overtakes the position of the old
+   * tab. If the old tab is not in the container, the new tab is added to the container. If the both
+   * tabs are already in the container, their positions are swapped. Tab attach and detach events
+   * should be taken care as with add and remove.
+   *
+   * @param oldTab the old tab that will be replaced. Can be <code>null</code>, which will make the
+   *     newTab to be added to the layout without replacing any other
+   * @param newTab the new tab to be replaced. Can be <code>null</code>, which will make the oldTab
+   *     to be removed from the layout without adding any other
+   *     <p>Replacing the currently selected tab will make the new tab selected.
+   */
+  public void replace(Tab oldTab, Tab newTab) {
+    if (oldTab == null && newTab == null) {
+      // NO-OP
+    } else if (oldTab == null) {
+      add(newTab);
+    } else if (newTab == null) {
+      remove(oldTab);
+    } else {
+      doReplace(oldTab, newTab);
+      initTabs(Arrays.asList(oldTab, newTab));
+    }
+    updateSelectedTab(false);
+  }
+
+  private void doReplace(Tab oldTab, Tab newTab) {
+    MenuItem oldItem = getMenuItem(oldTab).orElse(null);
+    MenuItem newItem = getMenuItem(newTab).orElse(null);
+
+    if (oldItem != null && newItem != null) {
+      replaceTab(oldItem, newTab);
+      replaceTab(newItem, oldTab);
+      int oldIndex = tabPositions.get(oldTab);
+      int newIndex = tabPositions.get(newTab);
+      setIndex(oldIndex, newTab);
+      setIndex(newIndex, oldTab);
+    } else if (oldItem != null) {
+      tabsRemoved(Collections.singletonList(oldTab));
+      replaceTab(oldItem, newTab);
+      int oldIndex = tabPositions.remove(oldTab);
+      setIndex(oldIndex, newTab);
+    } else {
+      add(newTab);
+    }
+  }
+
+  /**
+   * Moves the given child tab to another position. The tabs between the old and the new positions
+   * are shifted by one. The selected tab does not change (though its index may), so no
+   * {@link SelectedChangeEvent} is fired.
+   *
+   * <p>Only the menu item of the moved tab changes its position, and the overflow is recomputed
+   * once. The menu item is removed from the menu bar and inserted again at the new position, so the
+   * moved tab fires {@link DetachEvent detach} and {@link AttachEvent attach} events, but the
+   * other tabs are not touched. If the menu bar of the running Vaadin version does not support
+   * moving its items, the tabs in the affected range are moved between the menu items instead: in
+   * that case, every tab between the old and the new positions is detached and attached again.
+   *
+   * @param tab the tab to move
+   * @param index the new zero-based position of the tab
+   * @throws IllegalArgumentException if the tab is not a child of this component, or if the index
+   *     is less than 0 or greater than or equals to the number of children tabs
+   */
+  public void moveTab(Tab tab, int index) {
+    Objects.requireNonNull(tab, "Tab to move cannot be null");
+    int from = indexOf(tab);
+    if (from < 0) {
+      throw new IllegalArgumentException("Tab to move must be a child: " + tab);
+    }
+    if (index < 0 || index >= getTabCount()) {
+      throw new IllegalArgumentException(
+          "The 'index' argument should be greater than or equal to 0 and less than the number of children tabs. It was: "
+              + index);
+    }
+    if (from == index) {
+      return;
+    }
+
+    int selectedIndex = getSelectedIndex();
+    Tab selected =
+        selectedIndex >= 0 && selectedIndex < tabList.size() ? tabList.get(selectedIndex) : null;
+    List<Tab> moved = new ArrayList<>();
+    moveTabAt(from, index, moved);
+    initTabs(moved);
+
+    if (selected != null) {
+      this.selectedIndex = tabPositions.get(selected);
+    }
+    requestOverflowDetection();
+  }
+
+  /**
+   * Moves the tab at the given position to another position, and adds the tabs whose menu item
+   * changed to the given collection, so that they are set up again on the client.
+   */
+  private void moveTabAt(int from, int to, Collection<Tab> moved) {
+    int lo = Math.min(from, to);
+    int hi = Math.max(from, to);
+    int distance = from < to ? -1 : 1;
+
+    List<Tab> range = tabList.subList(lo, hi + 1);
+    if (moveMenuItem(itemList.get(from), to)) {
+      moved.add(tabList.get(from));
+      Collections.rotate(range, distance);
+      Collections.rotate(itemList.subList(lo, hi + 1), distance);
+    } else {
+      List<MenuItem> items = new ArrayList<>(itemList.subList(lo, hi + 1));
+      Collections.rotate(range, distance);
+      for (int i = 0; i < items.size(); i++) {
+        replaceTab(items.get(i), range.get(i));
+      }
+      moved.addAll(range);
+    }
+    reindex(lo, hi + 1);
+  }
+
+  // the menu bar does not expose a way of moving its items, see moveMenuItem
+  private static final Field MenuBar_menuManager;
+  private static final Method MenuManager_remove;
+  private static final Method MenuManager_addComponentAtIndex;
+  static {
+    Field menuManager;
+    Method remove;
+    Method addComponentAtIndex;
+    try {
+      menuManager = MenuBar.class.getDeclaredField("menuManager");
+      menuManager.setAccessible(true);
+      remove = menuManager.getType().getMethod("remove", Component[].class);
+      addComponentAtIndex =
+          menuManager.getType().getMethod("addComponentAtIndex", int.class, Component.class);
+    } catch (ReflectiveOperationException | RuntimeException e) {
+      menuManager = null;
+      remove = null;
+      addComponentAtIndex = null;
+    }
+    MenuBar_menuManager = menuManager;
+    MenuManager_remove = remove;
+    MenuManager_addComponentAtIndex = addComponentAtIndex;
+  }
+
+  // whether the menu items are moved, it is only cleared for testing the fallback
+  private static boolean moveMenuItems = MenuBar_menuManager != null;
+
+  /**
+   * Moves the given root menu item to another position, without changing its content. Returns
+   * {@code false} if the menu bar does not support it.
+   */
+  private boolean moveMenuItem(MenuItem item, int index) {
+    if (!moveMenuItems) {
+      return false;
+    }
+    try {
+      Object menuManager = MenuBar_menuManager.get(getContent());
+      MenuManager_remove.invoke(menuManager, (Object) new Component[] {item});
+      MenuManager_addComponentAtIndex.invoke(menuManager, index, item);
+      return true;
     } catch (IllegalAccessException | IllegalArgumentException | InvocationTargetException e) {
       throw new UndeclaredThrowableException(e);
     }
   }
 
-  public RouterLink addRouterLink(String text, Class<? extends Component> target) {
-    RouterLink routerLink = new RouterLink(text, target);
-    routerLink.getElement().executeJs(
-        "this.addEventListener('click', e => {\n"+
-        "e.preventDefault();\n"+
-        "this.dispatchEvent(new CustomEvent('client-side-click'));\n"+
-        "});\n");
-
-    routerLink.getElement().addEventListener("client-side-click", event -> {
-      navigate(UI.getCurrent(), target);
-    });
-
-    add(new Tab(routerLink));
-    return routerLink;
+  private void setIndex(int index, Tab tab) {
+    tabList.set(index, tab);
+    tabPositions.put(tab, index);
+    updateEnabledBit(index);
+  }
+
+  private void removeFromIndex(Tab... tabs) {
+    removeFromIndex(Arrays.asList(tabs));
+  }
+
+  private void removeFromIndex(Collection<Tab> tabs) {
+    int from = tabList.size();
+    for (Tab tab : tabs) {
+      Integer index = tabPositions.remove(tab);
+      if (index != null) {
+        from = Math.min(from, index);
+      }
+    }
+    compactIndex(from);
+  }
+
+  /** Drops the entries after the given position whose tabs are no longer in the index. */
+  private void compactIndex(int from) {
+    if (from >= tabList.size()) {
+      return;
+    }
+    int j = from;
+    for (int i = from; i < tabList.size(); i++) {
+      Tab tab = tabList.get(i);
+      if (tabPositions.containsKey(tab)) {
+        tabList.set(j, tab);
+        itemList.set(j, itemList.get(i));
+        j++;
+      }
+    }
+    tabList.subList(j, tabList.size()).clear();
+    itemList.subList(j, itemList.size()).clear();
+    reindex(from);
+  }
+
+  private void reindex(int from) {
+    reindex(from, tabList.size());
+    disabledTabs.clear(tabList.size(), Math.max(tabList.size(), disabledTabs.length()));
+  }
+
+  private void reindex(int from, int to) {
+    for (int i = from; i < to; i++) {
+      tabPositions.put(tabList.get(i), i);
+      updateEnabledBit(i);
+    }
+  }
+
+  private void updateEnabledBit(int index) {
+    disabledTabs.set(index, !isEnabled(tabList.get(index)));
+  }
+
+  private static boolean isEnabled(Tab tab) {
+    return tab.getElement().getNode().isEnabledSelf();
+  }
+
+  /**
+   * Returns the position of the first enabled tab at or after the given position, or -1 if there
+   * is none. The positions whose bit is set are skipped without looking at their tabs.
+   */
+  private int nextEnabled(int from) {
+    int i = disabledTabs.nextClearBit(Math.max(from, 0));
+    while (i < tabList.size()) {
+      if (checkEnabled(i)) {
+        return i;
+      }
+      i = disabledTabs.nextClearBit(i + 1);
+    }
+    return -1;
+  }
+
+  /**
+   * Returns the position of the last enabled tab at or before the given position, or -1 if there
+   * is none.
+   */
+  private int previousEnabled(int from) {
+    if (from < 0) {
+      return -1;
+    }
+    int i = disabledTabs.previousClearBit(Math.min(from, tabList.size() - 1));
+    while (i >= 0) {
+      if (checkEnabled(i)) {
+        return i;
+      }
+      i = disabledTabs.previousClearBit(i - 1);
+    }
+    return -1;
+  }
+
+  /**
+   * Returns whether the tab at the given position, whose bit is clear, is enabled. A tab that was
+   * disabled directly with {@link Tab#setEnabled(boolean)} is detected here, and its bit is set.
+   */
+  private boolean checkEnabled(int index) {
+    if (isEnabled(tabList.get(index))) {
+      return true;
+    }
+    disabledTabs.set(index);
+    return false;
+  }
+
+  /**
+   * Returns the position of the first enabled tab at or after the given position, or the last
+   * enabled tab before it, or -1 if all the tabs are disabled.
+   */
+  private int nearestEnabled(int index) {
+    int next = nextEnabled(index);
+    return next >= 0 ? next : previousEnabled(index - 1);
+  }
+
+  /**
+   * Enables or disables the given child tab. Disabled tabs cannot be selected, and are skipped by
+   * {@link #selectNextEnabled()}, {@link #selectPreviousEnabled()} and when the selected tab is
+   * removed.
+   *
+   * <p>The disabled tabs are tracked in a bit set, so that the next or previous enabled tab is found
+   * without visiting the disabled tabs in between. Tabs that are disabled directly with {@link
+   * Tab#setEnabled(boolean)} are detected when they are reached, but tabs that are enabled again
+   * directly keep being skipped until they are enabled with this method, selected, or moved.
+   *
+   * @param tab the tab to enable or disable
+   * @param enabled {@code true} to enable the tab, {@code false} to disable it
+   * @throws IllegalArgumentException if the tab is not a child of this component
+   */
+  public void setTabEnabled(Tab tab, boolean enabled) {
+    Objects.requireNonNull(tab, "Tab cannot be null");
+    int index = indexOf(tab);
+    if (index < 0) {
+      throw new IllegalArgumentException("The tab must be a child: " + tab);
+    }
+    tab.setEnabled(enabled);
+    disabledTabs.set(index, !enabled);
+  }
+
+  /**
+   * Selects the first enabled tab after the selected tab.
+   *
+   * @return {@code true} if the selection changed, {@code false} if there is no enabled tab after
+   *     the selected tab
+   */
+  public boolean selectNextEnabled() {
+    return selectEnabled(nextEnabled(getSelectedIndex() + 1));
   }
 
   /**
-   * Removes the given child tabs from this component.
+   * Selects the last enabled tab before the selected tab. If no tab is selected, the last enabled
+   * tab is selected.
    *
-   * @param tabs the tabs to remove
-   * @throws IllegalArgumentException if there is a tab whose non {@code null} parent is not this
-   *     component
-   *     <p>Removing tabs before the selected tab will decrease the {@link #getSelectedIndex()
-   *     selected index} to avoid changing the selected tab. Removing the selected tab will select
-   *     the next available tab if autoselect is true, otherwise no tab will be selected.
+   * @return {@code true} if the selection changed, {@code false} if there is no enabled tab before
+   *     the selected tab
    */
-  public void remove(Tab... tabs) {
+  public boolean selectPreviousEnabled() {
     int selectedIndex = getSelectedIndex();
-    int lowerIndices =
-        (int)
-            Stream.of(tabs)
-                .map(this::indexOf)
-                .filter(index -> index >= 0 && index < selectedIndex)
-                .count();
-
-    Tab selectedTab = getSelectedTab();
-    boolean isSelectedTab = selectedTab == null || Stream.of(tabs).anyMatch(selectedTab::equals);
-
-    doRemoveTabs(tabs);
-
-    // Prevents changing the selected tab
-    int newSelectedIndex = getSelectedIndex() - lowerIndices;
-
-    // In case the last tab was removed
-    if (newSelectedIndex > 0 && newSelectedIndex >= getComponentCount()) {
-      newSelectedIndex = getComponentCount() - 1;
-    }
+    return selectEnabled(previousEnabled(selectedIndex < 0 ? getTabCount() - 1 : selectedIndex - 1));
+  }
 
-    if (getComponentCount() == 0 || (isSelectedTab && !isAutoselect())) {
-      newSelectedIndex = -1;
+  private boolean selectEnabled(int index) {
+    if (index < 0) {
+      return false;
     }
+    setSelectedIndex(index);
+    return getSelectedIndex() == index;
+  }
 
-    if (newSelectedIndex != getSelectedIndex()) {
-      setSelectedIndex(newSelectedIndex);
-    } else {
-      updateSelectedTab(false);
+  /**
+   * Rebuilds the tab index from the menu items, if the tab at the given position was removed,
+   * replaced or moved through the Element API.
+   */
+  private void checkIndex(int index) {
+    if (!isIndexedAt(index)) {
+      rebuildIndex();
     }
   }
 
-  private void doRemoveTabs(Tab... tabs) {
-    List<MenuItem> toRemove = new ArrayList<>(tabs.length);
-    for (Tab tab : tabs) {
-      Objects.requireNonNull(tab, "Tab to remove cannot be null");
-      getMenuItem(tab).ifPresent(toRemove::add);
+  /** Rebuilds the tab index from the menu items, if any position is stale. */
+  private void validateIndex() {
+    for (int i = 0; i < tabList.size(); i++) {
+      if (!isIndexedAt(i)) {
+        rebuildIndex();
+        return;
+      }
     }
-    getContent().remove(toRemove.toArray(new MenuItem[0]));
   }
 
   /**
-   * Removes all tabs from this component. It also removes the children that were added only at the
-   * client-side.
-   *
-   * <p>This will reset the {@link #getSelectedIndex() selected index} to zero.
+   * Returns whether the tab at the given position is still the tab of the menu item at that
+   * position, and that menu item is still a child of this component.
    */
-  public void removeAll() {
-    getElement().removeAllChildren();
-    if (getSelectedIndex() > -1) {
-      setSelectedIndex(-1);
-    } else {
-      updateSelectedTab(false);
-    }
+  private boolean isIndexedAt(int index) {
+    MenuItem item = itemList.get(index);
+    return tabList.get(index).getParent().orElse(null) == item
+        && item.getParent().orElse(null) == this
+        && getTab(item) == tabList.get(index);
   }
 
-  /**
-   * Replaces the tab in the container with another one without changing position. This method
-   * replaces tab with another one is such way that the new tab overtakes the position of the old
-   * tab. If the old tab is not in the container, the new tab is added to the container. If the both
-   * tabs are already in the container, their positions are swapped. Tab attach and detach events
-   * should be taken care as with add and remove.
-   *
-   * @param oldTab the old tab that will be replaced. Can be <code>null</code>, which will make the
-   *     newTab to be added to the layout without replacing any other
-   * @param newTab the new tab to be replaced. Can be <code>null</code>, which will make the oldTab
-   *     to be removed from the layout without adding any other
-   *     <p>Replacing the currently selected tab will make the new tab selected.
-   */
-  public void replace(Tab oldTab, Tab newTab) {
-    if (oldTab == null && newTab == null) {
-      // NO-OP
-    } else if (oldTab == null) {
-      add(newTab);
-    } else if (newTab == null) {
-      remove(oldTab);
-    } else {
-      doReplace(oldTab, newTab);
-    }
-    updateSelectedTab(false);
+  private boolean isChild(Tab tab) {
+    Component item = tab.getParent().orElse(null);
+    return item instanceof MenuItem && item.getParent().orElse(null) == this;
   }
 
-  private void doReplace(Tab oldTab, Tab newTab) {
-    MenuItem oldItem = getMenuItem(oldTab).orElse(null);
-    MenuItem newItem = getMenuItem(newTab).orElse(null);
+  private void rebuildIndex() {
+    tabList.clear();
+    itemList.clear();
+    tabPositions.clear();
+    for (MenuItem item : getContent().getItems()) {
+      Tab tab = getTab(item);
+      if (tab != null) {
+        tabList.add(tab);
+        itemList.add(item);
+      }
+    }
+    reindex(0);
+  }
 
-    if (oldItem != null && newItem != null) {
-      replaceTab(oldItem, newTab);
-      replaceTab(newItem, oldTab);
-    } else if (oldItem != null) {
-      replaceTab(oldItem, newTab);
-    } else {
-      add(newTab);
+  /**
+   * Deselects a tab that is being added while it was selected, either before being added or by the
+   * caller. Only the previous selected tab is deselected when the selection changes, so such a tab
+   * would otherwise stay selected.
+   */
+  private void clearStaleSelection(Tab tab) {
+    if (tab != selectedTab && tab.isSelected()) {
+      tab.setSelected(false);
     }
   }
 
   private void replaceTab(MenuItem item, Tab tab) {
+    clearStaleSelection(tab);
     item.removeAll();
     item.add(tab);
+    syncSubMenu(item, tab);
+    if (searchIndex != null) {
+      searchIndex.add(tab);
+    }
   }
 
   /** An event to mark that the selected tab has changed. */
@@ -401,6 +1914,61 @@ public class EnhancedTabs extends Composite<MenuBar> implements HasEnabled, HasS
     }
   }
 
+  /**
+   * An event fired before a tab is selected from the client. Listeners can prevent the selection by
+   * calling {@link #veto()}.
+   */
+  public static class BeforeSelectedChangeEvent extends ComponentEvent<EnhancedTabs> {
+    private final Tab tab;
+    private boolean vetoed;
+
+    /**
+     * Creates a new before selected change event.
+     *
+     * @param source The tabs that fired the event.
+     * @param tab The tab to be selected.
+     * @param fromClient <code>true</code> for client-side events, <code>false</code> otherwise.
+     */
+    public BeforeSelectedChangeEvent(EnhancedTabs source, Tab tab, boolean fromClient) {
+      super(source, fromClient);
+      this.tab = tab;
+    }
+
+    /**
+     * Get the tab to be selected. Can be {@code null} if all the tabs are to be unselected.
+     *
+     * @return the tab to be selected
+     */
+    public Tab getTab() {
+      return tab;
+    }
+
+    /** Prevents the selection of the tab. */
+    public void veto() {
+      vetoed = true;
+    }
+
+    /**
+     * Checks whether the selection has been vetoed.
+     *
+     * @return <code>true</code> if the selection has been vetoed, <code>false</code> otherwise
+     */
+    public boolean isVetoed() {
+      return vetoed;
+    }
+  }
+
+  /**
+   * Adds a listener for {@link BeforeSelectedChangeEvent}.
+   *
+   * @param listener the listener to add, not <code>null</code>
+   * @return a handle that can be used for removing the listener
+   */
+  public Registration addBeforeSelectedChangeListener(
+      ComponentEventListener<BeforeSelectedChangeEvent> listener) {
+    return addListener(BeforeSelectedChangeEvent.class, listener);
+  }
+
   /**
    * Adds a listener for {@link SelectedChangeEvent}.
    *
@@ -412,6 +1980,73 @@ public class EnhancedTabs extends Composite<MenuBar> implements HasEnabled, HasS
     return addListener(SelectedChangeEvent.class, listener);
   }
 
+  /**
+   * An event fired when a tab, either in the menu bar or in the overflow menu, has been hovered for
+   * longer than the {@link #setHoverPrefetchDelay(int) hover prefetch delay}. It can be used for
+   * building the content of the tab before it is clicked, e.g. asynchronously with {@link
+   * UI#access}.
+   */
+  @DomEvent("fc-enhanced-tabs-hover")
+  public static class TabHoverEvent extends ComponentEvent<EnhancedTabs> {
+    private final Tab tab;
+
+    /**
+     * Creates a new tab hover event.
+     *
+     * @param source The tabs that fired the event.
+     * @param fromClient <code>true</code> for client-side events, <code>false</code> otherwise.
+     * @param index The index of the hovered tab.
+     */
+    public TabHoverEvent(
+        EnhancedTabs source, boolean fromClient, @EventData("event.detail.index") int index) {
+      super(source, fromClient);
+      tab = index >= 0 && index < source.getTabCount() ? source.getTabAt(index) : null;
+    }
+
+    /**
+     * Get the hovered tab for this event. Can be {@code null} if the tab was removed before the
+     * event arrived.
+     *
+     * @return the hovered tab
+     */
+    public Tab getTab() {
+      return tab;
+    }
+  }
+
+  /**
+   * Adds a listener for {@link TabHoverEvent}.
+   *
+   * @param listener the listener to add, not <code>null</code>
+   * @return a handle that can be used for removing the listener
+   */
+  public Registration addTabHoverListener(ComponentEventListener<TabHoverEvent> listener) {
+    return addListener(TabHoverEvent.class, listener);
+  }
+
+  /**
+   * Sets the time that a tab must be hovered before a {@link TabHoverEvent} is fired. Defaults to
+   * 300 milliseconds.
+   *
+   * @param hoverPrefetchDelay the delay in milliseconds
+   */
+  public void setHoverPrefetchDelay(int hoverPrefetchDelay) {
+    if (hoverPrefetchDelay < 0) {
+      throw new IllegalArgumentException(
+          "The hover prefetch delay cannot be negative: " + hoverPrefetchDelay);
+    }
+    getElement().setProperty("hoverPrefetchDelay", hoverPrefetchDelay);
+  }
+
+  /**
+   * Gets the time that a tab must be hovered before a {@link TabHoverEvent} is fired.
+   *
+   * @return the delay in milliseconds
+   */
+  public int getHoverPrefetchDelay() {
+    return getElement().getProperty("hoverPrefetchDelay", 300);
+  }
+
   /**
    * Gets the zero-based index of the currently selected tab.
    *
@@ -459,16 +2094,158 @@ public class EnhancedTabs extends Composite<MenuBar> implements HasEnabled, HasS
   }
 
   public void setSelectedTab(Tab selectedTab, boolean changedFromClient) {
+    if (changedFromClient && selectedTab != this.selectedTab && isVetoed(selectedTab)) {
+      syncClientSelection();
+      return;
+    }
+
     if (selectedTab == null) {
       setSelectedIndex(-1, changedFromClient);
       return;
     }
 
+    if (groupOfChild.containsKey(selectedTab)) {
+      selectChild(selectedTab, changedFromClient);
+      return;
+    }
+
     int selectedIndex = indexOf(selectedTab);
     if (selectedIndex < 0) {
       throw new IllegalArgumentException("Tab to select must be a child: " + selectedTab);
     }
     setSelectedIndex(selectedIndex, changedFromClient);
+
+    if (changedFromClient && this.selectedTab != selectedTab) {
+      // the tab could not be selected (e.g. because it is disabled)
+      syncClientSelection();
+    }
+  }
+
+  private boolean isVetoed(Tab tab) {
+    BeforeSelectedChangeEvent event = new BeforeSelectedChangeEvent(this, tab, true);
+    fireEvent(event);
+    return event.isVetoed();
+  }
+
+  /**
+   * Reverts the client-side selection to the server-side state, if the client may have selected a
+   * different tab.
+   */
+  private void syncClientSelection() {
+    if ((isOptimisticSelection() || isKeyboardSelection())
+        && getElement().getNode().isAttached()) {
+      selectionSyncPending = true;
+      overflowDirty = true;
+      scheduleFlush();
+    }
+  }
+
+  /**
+   * Sets whether the tabs are selected on the client immediately when they are clicked, before the
+   * server is notified. If the server does not accept the selection (because the tab is disabled,
+   * or a {@link BeforeSelectedChangeEvent} listener vetoes it), the client-side selection is
+   * reverted. Defaults to {@code false}.
+   *
+   * @param optimisticSelection {@code true} to select the tabs on the client, {@code false} to wait
+   *     for the server
+   */
+  public void setOptimisticSelection(boolean optimisticSelection) {
+    getElement().setProperty("optimisticSelection", optimisticSelection);
+  }
+
+  /**
+   * Gets whether the tabs are selected on the client immediately when they are clicked.
+   *
+   * @return {@code true} if the tabs are selected on the client, {@code false} otherwise
+   * @see #setOptimisticSelection(boolean)
+   */
+  public boolean isOptimisticSelection() {
+    return getElement().getProperty("optimisticSelection", false);
+  }
+
+  /**
+   * Sets whether the tabs can be selected with the keyboard. The arrow keys select the previous or
+   * next enabled tab, and the Home and End keys select the first or last enabled tab, including
+   * those in the overflow menu. The selection is updated on the client, and the server is notified
+   * once the user has stopped moving for {@code keyboardSelectionDelay} milliseconds (300 by
+   * default). Defaults to {@code false}.
+   *
+   * @param keyboardSelection {@code true} to enable the selection with the keyboard, {@code false}
+   *     to disable it
+   */
+  public void setKeyboardSelection(boolean keyboardSelection) {
+    getElement().setProperty("keyboardSelection", keyboardSelection);
+    if (keyboardSelection && keyboardSelectionRegistration == null) {
+      keyboardSelectionRegistration =
+          addListener(
+              ClientSelectionEvent.class,
+              ev -> {
+                int index = ev.getIndex();
+                if (index >= 0 && index < getTabCount()) {
+                  setSelectedTab(getTabAt(index), true);
+                } else {
+                  syncClientSelection();
+                }
+              });
+    } else if (!keyboardSelection && keyboardSelectionRegistration != null) {
+      keyboardSelectionRegistration.remove();
+      keyboardSelectionRegistration = null;
+    }
+  }
+
+  /**
+   * Gets whether the tabs can be selected with the keyboard.
+   *
+   * @return {@code true} if the selection with the keyboard is enabled, {@code false} otherwise
+   * @see #setKeyboardSelection(boolean)
+   */
+  public boolean isKeyboardSelection() {
+    return getElement().getProperty("keyboardSelection", false);
+  }
+
+  /**
+   * Sets the time that the client waits after the last keyboard selection before notifying the
+   * server.
+   *
+   * @param keyboardSelectionDelay the delay in milliseconds
+   */
+  public void setKeyboardSelectionDelay(int keyboardSelectionDelay) {
+    if (keyboardSelectionDelay < 0) {
+      throw new IllegalArgumentException(
+          "The keyboard selection delay cannot be negative: " + keyboardSelectionDelay);
+    }
+    getElement().setProperty("keyboardSelectionDelay", keyboardSelectionDelay);
+  }
+
+  /**
+   * An event fired by the client when a tab has been selected with the keyboard. It is handled by
+   * the component, which updates the server-side selection.
+   */
+  @DomEvent("fc-enhanced-tabs-select")
+  public static class ClientSelectionEvent extends ComponentEvent<EnhancedTabs> {
+    private final int index;
+
+    /**
+     * Creates a new client selection event.
+     *
+     * @param source The tabs that fired the event.
+     * @param fromClient <code>true</code> for client-side events, <code>false</code> otherwise.
+     * @param index The index of the selected tab.
+     */
+    public ClientSelectionEvent(
+        EnhancedTabs source, boolean fromClient, @EventData("event.detail.index") int index) {
+      super(source, fromClient);
+      this.index = index;
+    }
+
+    /**
+     * Gets the index of the tab that was selected on the client.
+     *
+     * @return the index of the selected tab
+     */
+    public int getIndex() {
+      return index;
+    }
   }
 
   /**
@@ -493,6 +2270,21 @@ public class EnhancedTabs extends Composite<MenuBar> implements HasEnabled, HasS
   }
 
   private void updateSelectedTab(boolean changedFromClient) {
+    EnhancedTabsMetrics metrics = getMetrics();
+    if (metrics == EnhancedTabsMetrics.NOOP) {
+      doUpdateSelectedTab(changedFromClient);
+      return;
+    }
+
+    long start = System.nanoTime();
+    try {
+      doUpdateSelectedTab(changedFromClient);
+    } finally {
+      metrics.selectionUpdated(this, System.nanoTime() - start);
+    }
+  }
+
+  private void doUpdateSelectedTab(boolean changedFromClient) {
     if (getSelectedIndex() < -1) {
       setSelectedIndex(-1);
       return;
@@ -507,17 +2299,33 @@ public class EnhancedTabs extends Composite<MenuBar> implements HasEnabled, HasS
 
     if (currentlySelected == null || currentlySelected.getElement().getNode().isEnabledSelf()) {
       selectedTab = currentlySelected;
-      getTabs().forEach(tab -> tab.setSelected(false));
+      if (currentlySelected == null || groupOfChild.get(selectedChild) != currentlySelected) {
+        clearSelectedChild();
+      }
+
+      // only the previous and the new selected tabs change their state
+      if (previousTab != null) {
+        previousTab.setSelected(false);
+      }
 
       if (selectedTab != null) {
+        disabledTabs.clear(getSelectedIndex());
         selectedTab.setSelected(true);
-        getElement().executeJs("this.__detectOverflow()");
+        requestOverflowDetection();
       }
 
+      getMetrics().selectionChanged(this);
       fireEvent(new SelectedChangeEvent(this, previousTab, changedFromClient));
     } else {
       updateEnabled(currentlySelected);
-      setSelectedTab(selectedTab);
+      disabledTabs.set(getSelectedIndex());
+
+      // keep the previous selection, or the nearest enabled tab if it is no longer a child
+      int index = previousTab == null ? -1 : indexOf(previousTab);
+      if (previousTab != null && index < 0) {
+        index = nearestEnabled(getSelectedIndex());
+      }
+      setSelectedIndex(index, changedFromClient);
     }
   }
 
@@ -544,25 +2352,28 @@ public class EnhancedTabs extends Composite<MenuBar> implements HasEnabled, HasS
     if (tab == null) {
       throw new IllegalArgumentException("The 'tab' parameter cannot be null");
     }
-    Iterator<Tab> it = getTabs().sequential().iterator();
-    int index = 0;
-    while (it.hasNext()) {
-      Component next = it.next();
-      if (tab.equals(next)) {
-        return index;
+    Integer index = tabPositions.get(tab);
+    if (index == null) {
+      if (!isChild(tab)) {
+        return -1;
       }
-      index++;
+      // the tab was inserted through the Element API
+      rebuildIndex();
+    } else {
+      checkIndex(index);
     }
-    return -1;
+    index = tabPositions.get(tab);
+    return index != null ? index : -1;
   }
 
   /**
    * Gets the number of children tabs.
    *
    * @return the number of tabs
+   * @see #getTabCount()
    */
   public int getComponentCount() {
-    return (int) getTabs().count();
+    return getTabCount();
   }
 
   /**
@@ -579,23 +2390,37 @@ public class EnhancedTabs extends Composite<MenuBar> implements HasEnabled, HasS
       throw new IllegalArgumentException(
           "The 'index' argument should be greater than or equal to 0. It was: " + index);
     }
-    return getTabs()
-        .sequential()
-        .skip(index)
-        .findFirst()
-        .orElseThrow(
-            () ->
-                new IllegalArgumentException(
-                    "The 'index' argument should not be greater than or equals to the number of children tabs. It was: "
-                        + index));
+    if (index < tabList.size()) {
+      checkIndex(index);
+    }
+    if (index >= tabList.size()) {
+      throw new IllegalArgumentException(
+          "The 'index' argument should not be greater than or equals to the number of children tabs. It was: "
+              + index);
+    }
+    return tabList.get(index);
   }
 
+  /**
+   * Gets the number of children tabs.
+   *
+   * <p>The count is taken from the position index in constant time, and only the last position is
+   * validated against the menu items. A tab that is detached from the middle of this component
+   * through the Element API is still counted until it, or any tab after it, is looked up, or until
+   * {@link #getTabs()} is called.
+   *
+   * @return the number of tabs
+   */
   public int getTabCount() {
-    return (int) getTabs().count();
+    if (!tabList.isEmpty()) {
+      checkIndex(tabList.size() - 1);
+    }
+    return tabList.size();
   }
 
   public Stream<Tab> getTabs() {
-    return getContent().getItems().stream().map(EnhancedTabs::getTab).filter(Objects::nonNull);
+    validateIndex();
+    return new ArrayList<>(tabList).stream();
   }
 
   private static Tab getTab(MenuItem item) {
@@ -0,0 +1,72 @@
+/*-
+ * #%L
+ * Enhanced Tabs Add-on
+ * %%
+ * Copyright (C) 2023-2026 Flowing Code
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package com.flowingcode.vaadin.addons.enhancedtabs;
+
+import java.io.Serializable;
+
+/**
+ * Receives metrics about the activity of {@link EnhancedTabs} components.
+ *
+ * <p>All the methods have an empty default implementation. The metrics of a component are sent to
+ * the instance configured with {@link EnhancedTabs#setMetrics(EnhancedTabsMetrics)}, or to the
+ * {@link EnhancedTabs#setDefaultMetrics(EnhancedTabsMetrics) application default}, which is {@link
+ * #NOOP} unless configured otherwise. Implementations must be thread-safe if they are shared
+ * between sessions.
+ *
+ * @see InMemoryEnhancedTabsMetrics
+ */
+public interface EnhancedTabsMetrics extends Serializable {
+
+  /** An implementation that discards all the metrics. */
+  EnhancedTabsMetrics NOOP = NoopEnhancedTabsMetrics.INSTANCE;
+
+  /**
+   * Called when the selected tab of a component has changed.
+   *
+   * @param source the component
+   */
+  default void selectionChanged(EnhancedTabs source) {}
+
+  /**
+   * Called after the selected tab of a component has been updated, whether it has changed or not.
+   *
+   * @param source the component
+   * @param nanos the time spent updating the selected tab, in nanoseconds
+   */
+  default void selectionUpdated(EnhancedTabs source, long nanos) {}
+
+  /**
+   * Called when a component schedules a JavaScript execution.
+   *
+   * @param source the component
+   * @param operation the name of the connector operation
+   */
+  default void javaScriptExecuted(EnhancedTabs source, String operation) {}
+
+  /**
+   * Called when the client reports the overflow recomputations of a component. The reports are
+   * debounced, so that a single report may cover several recomputations.
+   *
+   * @param source the component
+   * @param count the number of recomputations
+   * @param millis the total duration of the recomputations, in milliseconds
+   */
+  default void overflowDetected(EnhancedTabs source, int count, double millis) {}
+}
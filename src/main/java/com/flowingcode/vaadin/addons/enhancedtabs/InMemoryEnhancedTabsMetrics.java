@@ -0,0 +1,185 @@
+/*-
+ * #%L
+ * Enhanced Tabs Add-on
+ * %%
+ * Copyright (C) 2023-2026 Flowing Code
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package com.flowingcode.vaadin.addons.enhancedtabs;
+
+import com.vaadin.flow.component.ComponentUtil;
+import java.io.Serializable;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.DoubleAdder;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * An {@link EnhancedTabsMetrics} implementation that keeps counters and timers in memory, for each
+ * component and aggregated for all the components that report to it.
+ *
+ * <p>An instance can be shared by the whole application through {@link
+ * EnhancedTabs#setDefaultMetrics(EnhancedTabsMetrics)}. The statistics of a component are kept
+ * in the {@link ComponentUtil#setData(com.vaadin.flow.component.Component, String, Object) data}
+ * of the component, so that components of different sessions don't contend for a shared lock, and
+ * the statistics are discarded together with the component.
+ */
+@SuppressWarnings("serial")
+public class InMemoryEnhancedTabsMetrics implements EnhancedTabsMetrics {
+
+  /** Counters and timers of one or more components. */
+  public static class Stats implements Serializable {
+
+    private final LongAdder selectionChanges = new LongAdder();
+
+    private final LongAdder selectionUpdates = new LongAdder();
+
+    private final LongAdder selectionUpdateNanos = new LongAdder();
+
+    private final LongAdder overflowDetections = new LongAdder();
+
+    private final DoubleAdder overflowMillis = new DoubleAdder();
+
+    private final Map<String, LongAdder> javaScriptExecutions = new ConcurrentHashMap<>();
+
+    /**
+     * Gets the number of selection changes.
+     *
+     * @return the number of selection changes
+     */
+    public long getSelectionChanges() {
+      return selectionChanges.sum();
+    }
+
+    /**
+     * Gets the number of selection updates.
+     *
+     * @return the number of selection updates
+     */
+    public long getSelectionUpdates() {
+      return selectionUpdates.sum();
+    }
+
+    /**
+     * Gets the total time spent updating the selected tab.
+     *
+     * @return the total time, in nanoseconds
+     */
+    public long getSelectionUpdateNanos() {
+      return selectionUpdateNanos.sum();
+    }
+
+    /**
+     * Gets the number of overflow recomputations reported by the client.
+     *
+     * @return the number of overflow recomputations
+     */
+    public long getOverflowDetections() {
+      return overflowDetections.sum();
+    }
+
+    /**
+     * Gets the total duration of the overflow recomputations reported by the client.
+     *
+     * @return the total duration, in milliseconds
+     */
+    public double getOverflowMillis() {
+      return overflowMillis.sum();
+    }
+
+    /**
+     * Gets the number of JavaScript executions of the given connector operation.
+     *
+     * @param operation the name of the operation
+     * @return the number of JavaScript executions
+     */
+    public long getJavaScriptExecutions(String operation) {
+      LongAdder adder = javaScriptExecutions.get(operation);
+      return adder != null ? adder.sum() : 0;
+    }
+
+    /**
+     * Gets the total number of JavaScript executions.
+     *
+     * @return the number of JavaScript executions
+     */
+    public long getJavaScriptExecutions() {
+      return javaScriptExecutions.values().stream().mapToLong(LongAdder::sum).sum();
+    }
+  }
+
+  private final Stats aggregated = new Stats();
+
+  // the key of the statistics in the component data, unique to this instance
+  private final String key = InMemoryEnhancedTabsMetrics.class.getName() + "#" + UUID.randomUUID();
+
+  /**
+   * Gets the statistics of the given component. As any other access to the component, this
+   * method must be called while holding the session lock.
+   *
+   * @param source the component
+   * @return the statistics of the component
+   */
+  public Stats getStats(EnhancedTabs source) {
+    Object data = ComponentUtil.getData(source, key);
+    if (data instanceof Stats) {
+      return (Stats) data;
+    }
+    Stats stats = new Stats();
+    ComponentUtil.setData(source, key, stats);
+    return stats;
+  }
+
+  /**
+   * Gets the statistics aggregated for all the components.
+   *
+   * @return the aggregated statistics
+   */
+  public Stats getAggregatedStats() {
+    return aggregated;
+  }
+
+  @Override
+  public void selectionChanged(EnhancedTabs source) {
+    getStats(source).selectionChanges.increment();
+    aggregated.selectionChanges.increment();
+  }
+
+  @Override
+  public void selectionUpdated(EnhancedTabs source, long nanos) {
+    Stats stats = getStats(source);
+    stats.selectionUpdates.increment();
+    stats.selectionUpdateNanos.add(nanos);
+    aggregated.selectionUpdates.increment();
+    aggregated.selectionUpdateNanos.add(nanos);
+  }
+
+  @Override
+  public void javaScriptExecuted(EnhancedTabs source, String operation) {
+    getStats(source).javaScriptExecutions.computeIfAbsent(operation, op -> new LongAdder())
+        .increment();
+    aggregated.javaScriptExecutions.computeIfAbsent(operation, op -> new LongAdder()).increment();
+  }
+
+  @Override
+  public void overflowDetected(EnhancedTabs source, int count, double millis) {
+    Stats stats = getStats(source);
+    stats.overflowDetections.add(count);
+    stats.overflowMillis.add(millis);
+    aggregated.overflowDetections.add(count);
+    aggregated.overflowMillis.add(millis);
+  }
+}
@@ -0,0 +1,476 @@
+/*-
+ * #%L
+ * Enhanced Tabs Add-on
+ * %%
+ * Copyright (C) 2023-2026 Flowing Code
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package com.flowingcode.vaadin.addons.enhancedtabs;
+
+import com.vaadin.flow.component.AttachEvent;
+import com.vaadin.flow.component.Component;
+import com.vaadin.flow.component.ComponentEvent;
+import com.vaadin.flow.component.ComponentEventListener;
+import com.vaadin.flow.component.ComponentUtil;
+import com.vaadin.flow.component.Composite;
+import com.vaadin.flow.component.DetachEvent;
+import com.vaadin.flow.component.HasSize;
+import com.vaadin.flow.component.HasStyle;
+import com.vaadin.flow.component.ItemLabelGenerator;
+import com.vaadin.flow.component.html.Span;
+import com.vaadin.flow.component.tabs.Tab;
+import com.vaadin.flow.data.provider.DataProvider;
+import com.vaadin.flow.data.provider.Query;
+import com.vaadin.flow.function.SerializableFunction;
+import com.vaadin.flow.shared.Registration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Stream;
+
+/**
+ * A tabs component whose tabs are generated from the items of a {@link DataProvider}.
+ *
+ * <p>Only the items in a window of {@link #setPageSize(int) page size} items are materialized as
+ * {@link Tab} components. The rest of the items are fetched from the data provider when the window
+ * moves, either explicitly through {@link #setWindowOffset(int)} or when a tab close to the edges
+ * of the window is selected. The number of server-side components is therefore bounded by the page
+ * size, regardless of the number of items.
+ *
+ * <p>Selecting an item outside the window requires its index: either pass it to {@link
+ * #setSelectedItem(Object, int)}, or configure an {@link #setItemIndexProvider(SerializableFunction)
+ * item index provider} that looks it up in the backend.
+ *
+ * @param <T> the type of the items
+ */
+@SuppressWarnings("serial")
+public class LazyEnhancedTabs<T> extends Composite<EnhancedTabs> implements HasSize, HasStyle {
+
+  private static final int DEFAULT_PAGE_SIZE = 50;
+
+  private static final String ITEM_ID = "fc-lazy-enhanced-tabs-item-id";
+
+  private DataProvider<T, ?> dataProvider = DataProvider.ofItems();
+
+  private ItemLabelGenerator<T> itemLabelGenerator = String::valueOf;
+
+  private SerializableFunction<T, Component> itemIconGenerator;
+
+  private SerializableFunction<T, Integer> itemIndexProvider;
+
+  private Registration dataProviderListener;
+
+  // whether the data provider may have changed while the component was detached
+  private boolean stale;
+
+  private int pageSize = DEFAULT_PAGE_SIZE;
+
+  private int windowOffset;
+
+  private int itemCount;
+
+  private final List<T> window = new ArrayList<>();
+
+  private T selectedItem;
+
+  private boolean updating;
+
+  /** Constructs an empty new object. */
+  public LazyEnhancedTabs() {
+    getContent().setAutoselect(false);
+    getContent().addSelectedChangeListener(this::onSelectedChange);
+  }
+
+  /**
+   * Constructs a new object with the given data provider.
+   *
+   * @param dataProvider the data provider, not {@code null}
+   */
+  public LazyEnhancedTabs(DataProvider<T, ?> dataProvider) {
+    this();
+    setItems(dataProvider);
+  }
+
+  /**
+   * Sets the data provider of this component. The window is moved to the first item, and the
+   * selection is cleared.
+   *
+   * @param dataProvider the data provider, not {@code null}
+   */
+  public void setItems(DataProvider<T, ?> dataProvider) {
+    Objects.requireNonNull(dataProvider, "The data provider cannot be null");
+    removeDataProviderListener();
+    this.dataProvider = dataProvider;
+    if (getElement().getNode().isAttached()) {
+      addDataProviderListener();
+    }
+    windowOffset = 0;
+    setSelectedItem(null);
+    refresh();
+  }
+
+  @Override
+  protected void onAttach(AttachEvent attachEvent) {
+    addDataProviderListener();
+    if (stale) {
+      stale = false;
+      refresh();
+    }
+  }
+
+  @Override
+  protected void onDetach(DetachEvent detachEvent) {
+    removeDataProviderListener();
+    stale = true;
+  }
+
+  // the listener is only registered while attached, so that the data provider does not keep a
+  // reference to a detached component
+  private void addDataProviderListener() {
+    if (dataProviderListener == null) {
+      dataProviderListener = dataProvider.addDataProviderListener(ev -> refresh());
+    }
+  }
+
+  private void removeDataProviderListener() {
+    if (dataProviderListener != null) {
+      dataProviderListener.remove();
+      dataProviderListener = null;
+    }
+  }
+
+  /**
+   * Gets the data provider of this component.
+   *
+   * @return the data provider
+   */
+  public DataProvider<T, ?> getDataProvider() {
+    return dataProvider;
+  }
+
+  /**
+   * Sets the generator that is used for the labels of the tabs.
+   *
+   * @param itemLabelGenerator the item label generator, not {@code null}
+   */
+  public void setItemLabelGenerator(ItemLabelGenerator<T> itemLabelGenerator) {
+    this.itemLabelGenerator =
+        Objects.requireNonNull(itemLabelGenerator, "The item label generator cannot be null");
+    refresh();
+  }
+
+  /**
+   * Sets the generator that is used for the icons of the tabs.
+   *
+   * @param itemIconGenerator the item icon generator, or {@code null} for tabs without icons. The
+   *     generator may return {@code null} for items without icon.
+   */
+  public void setItemIconGenerator(SerializableFunction<T, Component> itemIconGenerator) {
+    this.itemIconGenerator = itemIconGenerator;
+    refresh();
+  }
+
+  /**
+   * Sets the maximum number of items that are materialized as tabs. The default value is 50.
+   *
+   * @param pageSize the number of items in the window, greater than 0
+   */
+  public void setPageSize(int pageSize) {
+    if (pageSize < 1) {
+      throw new IllegalArgumentException("The page size must be greater than 0: " + pageSize);
+    }
+    this.pageSize = pageSize;
+    refresh();
+  }
+
+  /**
+   * Gets the maximum number of items that are materialized as tabs.
+   *
+   * @return the number of items in the window
+   */
+  public int getPageSize() {
+    return pageSize;
+  }
+
+  /**
+   * Moves the window so that it starts at the given item index.
+   *
+   * @param windowOffset the index of the first item in the window
+   */
+  public void setWindowOffset(int windowOffset) {
+    if (windowOffset < 0) {
+      throw new IllegalArgumentException("The window offset cannot be negative: " + windowOffset);
+    }
+    this.windowOffset = windowOffset;
+    refresh();
+  }
+
+  /**
+   * Gets the index of the first item in the window.
+   *
+   * @return the index of the first item in the window
+   */
+  public int getWindowOffset() {
+    return windowOffset;
+  }
+
+  /**
+   * Gets the number of items in the data provider, as of the last refresh.
+   *
+   * @return the number of items
+   */
+  public int getItemCount() {
+    return itemCount;
+  }
+
+  /**
+   * Gets the selected item.
+   *
+   * @return the selected item, or {@code null} if none is selected
+   */
+  public T getSelectedItem() {
+    return selectedItem;
+  }
+
+  /**
+   * Sets the function that returns the index of an item in the data provider, or {@code null} if
+   * the item is not in the data provider. It is used by {@link #setSelectedItem(Object)} for the
+   * items that are outside the current window.
+   *
+   * @param itemIndexProvider the item index provider, or {@code null} to require an index hint
+   */
+  public void setItemIndexProvider(SerializableFunction<T, Integer> itemIndexProvider) {
+    this.itemIndexProvider = itemIndexProvider;
+  }
+
+  /**
+   * Selects the given item. If the item is outside the current window, its index is obtained from
+   * the {@link #setItemIndexProvider(SerializableFunction) item index provider}, and the window is
+   * moved in order to include it.
+   *
+   * @param item the item to select, {@code null} to unselect all
+   * @throws IllegalArgumentException if the item is not in the data provider
+   * @throws IllegalStateException if the item is outside the current window and there is no item
+   *     index provider
+   */
+  public void setSelectedItem(T item) {
+    if (item == null || indexInWindow(item) >= 0) {
+      select(item, false);
+      return;
+    }
+
+    if (itemIndexProvider == null) {
+      throw new IllegalStateException(
+          "The item is outside the current window, and there is no item index provider: " + item);
+    }
+    Integer index = itemIndexProvider.apply(item);
+    if (index == null || index < 0) {
+      throw new IllegalArgumentException("The item is not in the data provider: " + item);
+    }
+    setSelectedItem(item, index);
+  }
+
+  /**
+   * Selects the given item, which is at the given index in the data provider. If the item is
+   * outside the current window, the window is moved in order to include it. Only the item at the
+   * given index is fetched in order to verify the hint.
+   *
+   * @param item the item to select, not {@code null}
+   * @param index the index of the item in the data provider
+   * @throws IllegalArgumentException if the item is not at the given index
+   */
+  public void setSelectedItem(T item, int index) {
+    Objects.requireNonNull(item, "The item cannot be null");
+    if (indexInWindow(item) < 0) {
+      if (index < 0 || !Objects.equals(getId(item), getId(fetchAt(index)))) {
+        throw new IllegalArgumentException("The item is not at index " + index + ": " + item);
+      }
+      windowOffset = Math.max(0, index - pageSize / 2);
+      refresh();
+    }
+    select(item, false);
+  }
+
+  /**
+   * Refreshes the tabs in the current window from the data provider. The window is clamped to the
+   * number of items. The selected item is kept, and its tab is selected if it is in the window.
+   */
+  public void refresh() {
+    itemCount = size(dataProvider);
+    windowOffset = Math.max(0, Math.min(windowOffset, itemCount - pageSize));
+
+    window.clear();
+    try (Stream<T> items = fetch(dataProvider, windowOffset, Math.min(pageSize, itemCount))) {
+      items.forEach(window::add);
+    }
+
+    // the tabs of the items that are still in the window are kept, unless their label changed
+    Map<Object, Tab> oldTabs = new HashMap<>();
+    getContent().getTabs().forEach(tab -> oldTabs.put(ComponentUtil.getData(tab, ITEM_ID), tab));
+    List<Tab> tabs = new ArrayList<>(window.size());
+    for (T item : window) {
+      Tab tab = oldTabs.remove(getId(item));
+      if (tab == null
+          || itemIconGenerator != null
+          || !itemLabelGenerator.apply(item).equals(tab.getLabel())) {
+        tab = createTab(item);
+      }
+      tabs.add(tab);
+    }
+
+    updating = true;
+    try {
+      getContent().setTabs(tabs);
+    } finally {
+      updating = false;
+    }
+
+    updateSelectedIndex();
+  }
+
+  private Tab createTab(T item) {
+    String label = itemLabelGenerator.apply(item);
+    Component icon = itemIconGenerator != null ? itemIconGenerator.apply(item) : null;
+    Tab tab = icon != null ? new Tab(icon, new Span(label)) : new Tab(label);
+    ComponentUtil.setData(tab, ITEM_ID, getId(item));
+    return tab;
+  }
+
+  private void select(T item, boolean fromClient) {
+    T previousItem = selectedItem;
+    selectedItem = item;
+    updateSelectedIndex();
+
+    if (!Objects.equals(getId(previousItem), getId(item))) {
+      fireEvent(new SelectedItemChangeEvent<>(this, previousItem, fromClient));
+    }
+  }
+
+  private void updateSelectedIndex() {
+    updating = true;
+    try {
+      getContent().setSelectedIndex(selectedItem != null ? indexInWindow(selectedItem) : -1);
+    } finally {
+      updating = false;
+    }
+  }
+
+  private void onSelectedChange(EnhancedTabs.SelectedChangeEvent ev) {
+    if (updating) {
+      return;
+    }
+
+    int index = getContent().getSelectedIndex();
+    T item = index >= 0 ? window.get(index) : null;
+    select(item, ev.isFromClient());
+
+    // fetch the neighbouring items when the selected tab gets close to the edges of the window
+    if (item != null) {
+      int margin = pageSize / 4;
+      boolean hasPrevious = windowOffset > 0;
+      boolean hasNext = windowOffset + window.size() < itemCount;
+      if ((hasPrevious && index < margin) || (hasNext && index >= window.size() - margin)) {
+        windowOffset = Math.max(0, windowOffset + index - pageSize / 2);
+        refresh();
+      }
+    }
+  }
+
+  private int indexInWindow(T item) {
+    Object id = getId(item);
+    for (int i = 0; i < window.size(); i++) {
+      if (Objects.equals(id, getId(window.get(i)))) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  private T fetchAt(int index) {
+    try (Stream<T> items = fetch(dataProvider, index, 1)) {
+      return items.findFirst().orElse(null);
+    }
+  }
+
+  private Object getId(T item) {
+    return item != null ? dataProvider.getId(item) : null;
+  }
+
+  private static <T, F> int size(DataProvider<T, F> dataProvider) {
+    return dataProvider.size(new Query<>());
+  }
+
+  private static <T, F> Stream<T> fetch(DataProvider<T, F> dataProvider, int offset, int limit) {
+    return dataProvider.fetch(new Query<>(offset, limit, Collections.emptyList(), null, null));
+  }
+
+  /**
+   * An event to mark that the selected item has changed.
+   *
+   * @param <T> the type of the items
+   */
+  public static class SelectedItemChangeEvent<T> extends ComponentEvent<LazyEnhancedTabs<T>> {
+
+    private final T selectedItem;
+
+    private final T previousItem;
+
+    /**
+     * Creates a new selected item change event.
+     *
+     * @param source The component that fired the event.
+     * @param previousItem The previous selected item.
+     * @param fromClient <code>true</code> for client-side events, <code>false</code> otherwise.
+     */
+    public SelectedItemChangeEvent(LazyEnhancedTabs<T> source, T previousItem, boolean fromClient) {
+      super(source, fromClient);
+      selectedItem = source.getSelectedItem();
+      this.previousItem = previousItem;
+    }
+
+    /**
+     * Gets the selected item for this event.
+     *
+     * @return the selected item, or {@code null} if none is selected
+     */
+    public T getSelectedItem() {
+      return selectedItem;
+    }
+
+    /**
+     * Gets the previous selected item for this event.
+     *
+     * @return the previous selected item, or {@code null} if none was selected
+     */
+    public T getPreviousItem() {
+      return previousItem;
+    }
+  }
+
+  /**
+   * Adds a listener for {@link SelectedItemChangeEvent}.
+   *
+   * @param listener the listener to add, not <code>null</code>
+   * @return a handle that can be used for removing the listener
+   */
+  @SuppressWarnings({"rawtypes", "unchecked"})
+  public Registration addSelectedItemChangeListener(
+      ComponentEventListener<SelectedItemChangeEvent<T>> listener) {
+    return addListener(SelectedItemChangeEvent.class, (ComponentEventListener) listener);
+  }
+}
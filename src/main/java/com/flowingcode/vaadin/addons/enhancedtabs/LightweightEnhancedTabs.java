@@ -0,0 +1,445 @@
+/*-
+ * #%L
+ * Enhanced Tabs Add-on
+ * %%
+ * Copyright (C) 2023-2026 Flowing Code
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package com.flowingcode.vaadin.addons.enhancedtabs;
+
+import com.vaadin.flow.component.AttachEvent;
+import com.vaadin.flow.component.Component;
+import com.vaadin.flow.component.ComponentEvent;
+import com.vaadin.flow.component.ComponentEventListener;
+import com.vaadin.flow.component.DomEvent;
+import com.vaadin.flow.component.EventData;
+import com.vaadin.flow.component.HasSize;
+import com.vaadin.flow.component.HasStyle;
+import com.vaadin.flow.component.Tag;
+import com.vaadin.flow.component.dependency.CssImport;
+import com.vaadin.flow.component.dependency.JsModule;
+import com.vaadin.flow.component.dependency.Uses;
+import com.vaadin.flow.component.menubar.MenuBar;
+import com.vaadin.flow.shared.Registration;
+import elemental.json.Json;
+import elemental.json.JsonArray;
+import elemental.json.JsonObject;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * A lightweight alternative to {@link EnhancedTabs} whose tabs are described by
+ * {@link TabDescriptor} objects and rendered on the client.
+ *
+ * <p>No server-side component is created for the tabs: the descriptors are sent to the client as
+ * one JSON property, and the selection is reported back by tab id. The overflow, keyboard
+ * navigation and hover behaviors are the same as in {@link EnhancedTabs}. Use {@link EnhancedTabs}
+ * instead if the tabs need arbitrary components or per-tab listeners.
+ *
+ * <p>The tabs can be given as a {@link TabSetDefinition} that is shared between sessions, in which
+ * case each component only keeps the selected tab, the disabled tabs and the badges. Tabs with a
+ * {@link TabDescriptor#getTarget() route target} navigate to it when they are selected from the
+ * client.
+ */
+@SuppressWarnings("serial")
+@Tag("vaadin-menu-bar")
+@Uses(MenuBar.class)
+@JsModule("./fcEnhancedTabs/connector.js")
+@CssImport("./fcEnhancedTabs/fc-enhanced-tabs.css")
+@CssImport(value = "./fcEnhancedTabs/fc-enhanced-tabs-legacy.css")
+@CssImport(
+    value = "./fcEnhancedTabs/vaadin-menu-bar-button-legacy.css",
+    themeFor = "vaadin-menu-bar-button")
+public class LightweightEnhancedTabs extends Component implements HasSize, HasStyle {
+
+  private static final TabSetDefinition EMPTY = new TabSetDefinition();
+
+  private TabSetDefinition definition = EMPTY;
+
+  private TabDescriptor selectedTab;
+
+  private BitSet disabledTabs;
+
+  private Map<String, String> badges;
+
+  private boolean autoselect = true;
+
+  /** Constructs an empty new object. */
+  public LightweightEnhancedTabs() {
+    getElement().getThemeList().add("fc-enhanced-tabs");
+    getElement().setProperty("openOnHover", true);
+    getElement().setProperty("optimisticSelection", true);
+    addListener(TabSelectionEvent.class, ev -> onTabSelection(ev.getId()));
+  }
+
+  /**
+   * Constructs a new object with the given tabs.
+   *
+   * @param tabs the descriptors of the tabs
+   */
+  public LightweightEnhancedTabs(TabDescriptor... tabs) {
+    this();
+    setTabs(tabs);
+  }
+
+  /**
+   * Constructs a new object with the given tab set definition.
+   *
+   * @param definition the definition of the tabs
+   */
+  public LightweightEnhancedTabs(TabSetDefinition definition) {
+    this();
+    setDefinition(definition);
+  }
+
+  @Override
+  protected void onAttach(AttachEvent attachEvent) {
+    getElement().executeJs("window.Vaadin.Flow.fcEnhancedTabsConnector.initDescriptors(this)");
+  }
+
+  /**
+   * Sets the tabs of this component, replacing the previous ones.
+   *
+   * @param tabs the descriptors of the tabs
+   * @see #setTabs(List)
+   */
+  public void setTabs(TabDescriptor... tabs) {
+    Objects.requireNonNull(tabs, "Tabs should not be null");
+    setTabs(Arrays.asList(tabs));
+  }
+
+  /**
+   * Sets the tabs of this component, replacing the previous ones. The selected tab is kept if there
+   * is a tab with the same id, otherwise the first tab is selected (unless autoselect is disabled).
+   *
+   * @param tabs the descriptors of the tabs
+   * @throws IllegalArgumentException if there are two tabs with the same id
+   */
+  public void setTabs(List<TabDescriptor> tabs) {
+    setDefinition(new TabSetDefinition(tabs));
+  }
+
+  /**
+   * Sets the tabs of this component from a definition, which may be shared with other components.
+   * The selected tab is kept if there is a tab with the same id, otherwise the first tab is
+   * selected (unless autoselect is disabled). All the tabs of the new definition are enabled, and
+   * the badges are kept for the tabs whose id is still present.
+   *
+   * @param definition the definition of the tabs
+   */
+  public void setDefinition(TabSetDefinition definition) {
+    this.definition = Objects.requireNonNull(definition, "The definition cannot be null");
+    getElement().setPropertyJson("tabDescriptors", definition.toJson());
+    if (disabledTabs != null) {
+      disabledTabs = null;
+      getElement().removeProperty("disabledTabs");
+    }
+    if (badges != null && badges.keySet().removeIf(id -> definition.indexOf(id) < 0)) {
+      updateBadges();
+    }
+
+    TabDescriptor selected = selectedTab == null ? null : findTab(selectedTab.getId());
+    if (selected == null && autoselect && definition.size() > 0) {
+      selected = definition.getTabs().get(0);
+    }
+    updateSelectedTab(selected, false);
+  }
+
+  /**
+   * Gets the definition of the tabs of this component.
+   *
+   * @return the definition of the tabs
+   */
+  public TabSetDefinition getDefinition() {
+    return definition;
+  }
+
+  /**
+   * Enables or disables the tab with the given id. Disabled tabs cannot be selected from the
+   * client.
+   *
+   * @param id the id of the tab
+   * @param enabled {@code true} to enable the tab, {@code false} to disable it
+   * @throws IllegalArgumentException if there is no tab with the given id
+   */
+  public void setTabEnabled(String id, boolean enabled) {
+    int index = checkId(id);
+    if (disabledTabs == null) {
+      if (enabled) {
+        return;
+      }
+      disabledTabs = new BitSet(definition.size());
+    }
+    disabledTabs.set(index, !enabled);
+    JsonArray json = Json.createArray();
+    disabledTabs.stream().forEach(i -> json.set(json.length(), i));
+    getElement().setPropertyJson("disabledTabs", json);
+  }
+
+  /**
+   * Gets whether the tab with the given id is enabled.
+   *
+   * @param id the id of the tab
+   * @return {@code true} if the tab is enabled, {@code false} otherwise
+   * @throws IllegalArgumentException if there is no tab with the given id
+   */
+  public boolean isTabEnabled(String id) {
+    int index = checkId(id);
+    return disabledTabs == null || !disabledTabs.get(index);
+  }
+
+  /**
+   * Sets the badge that is displayed next to the label of the tab with the given id.
+   *
+   * @param id the id of the tab
+   * @param badge the text of the badge, or {@code null} to remove it
+   * @throws IllegalArgumentException if there is no tab with the given id
+   */
+  public void setTabBadge(String id, String badge) {
+    checkId(id);
+    if (badges == null) {
+      if (badge == null) {
+        return;
+      }
+      badges = new HashMap<>();
+    }
+    if (badge == null) {
+      badges.remove(id);
+    } else {
+      badges.put(id, badge);
+    }
+    updateBadges();
+  }
+
+  private void updateBadges() {
+    JsonObject json = Json.createObject();
+    badges.forEach(json::put);
+    getElement().setPropertyJson("tabBadges", json);
+  }
+
+  /**
+   * Gets the badge of the tab with the given id.
+   *
+   * @param id the id of the tab
+   * @return the text of the badge, or {@code null} if the tab has no badge
+   */
+  public String getTabBadge(String id) {
+    return badges == null ? null : badges.get(id);
+  }
+
+  private int checkId(String id) {
+    int index = definition.indexOf(id);
+    if (index < 0) {
+      throw new IllegalArgumentException("There is no tab with id " + id);
+    }
+    return index;
+  }
+
+  /**
+   * Gets the tabs of this component.
+   *
+   * @return an unmodifiable list with the descriptors of the tabs
+   */
+  public List<TabDescriptor> getTabs() {
+    return definition.getTabs();
+  }
+
+  /**
+   * Gets the selected tab.
+   *
+   * @return the descriptor of the selected tab, or {@code null} if none is selected
+   */
+  public TabDescriptor getSelectedTab() {
+    return selectedTab;
+  }
+
+  /**
+   * Selects the tab with the given id.
+   *
+   * @param id the id of the tab to select, {@code null} to unselect all
+   * @throws IllegalArgumentException if there is no tab with the given id
+   */
+  public void setSelectedId(String id) {
+    TabDescriptor tab = id == null ? null : findTab(id);
+    if (id != null && tab == null) {
+      throw new IllegalArgumentException("There is no tab with id " + id);
+    }
+    updateSelectedTab(tab, false);
+  }
+
+  /**
+   * Gets the id of the selected tab.
+   *
+   * @return the id of the selected tab, or {@code null} if none is selected
+   */
+  public String getSelectedId() {
+    return selectedTab == null ? null : selectedTab.getId();
+  }
+
+  /**
+   * Sets whether the first tab is selected automatically when tabs are set and the selected tab is
+   * not among them. The default value is true.
+   *
+   * @param autoselect {@code true} to autoselect tab, {@code false} to not.
+   */
+  public void setAutoselect(boolean autoselect) {
+    this.autoselect = autoselect;
+  }
+
+  /**
+   * Gets whether the tabs should be automatically selected. The default value is true.
+   *
+   * @return <code>true</code> if autoselect is active, <code>false</code> otherwise
+   */
+  public boolean isAutoselect() {
+    return autoselect;
+  }
+
+  /**
+   * Sets whether the tabs can be selected with the keyboard.
+   *
+   * @param keyboardSelection {@code true} to enable the selection with the keyboard, {@code false}
+   *     to disable it
+   * @see EnhancedTabs#setKeyboardSelection(boolean)
+   */
+  public void setKeyboardSelection(boolean keyboardSelection) {
+    getElement().setProperty("keyboardSelection", keyboardSelection);
+  }
+
+  /**
+   * Gets whether the tabs can be selected with the keyboard.
+   *
+   * @return {@code true} if the selection with the keyboard is enabled, {@code false} otherwise
+   */
+  public boolean isKeyboardSelection() {
+    return getElement().getProperty("keyboardSelection", false);
+  }
+
+  private TabDescriptor findTab(String id) {
+    int index = definition.indexOf(id);
+    return index < 0 ? null : definition.getTabs().get(index);
+  }
+
+  private void onTabSelection(String id) {
+    TabDescriptor tab = id == null ? null : findTab(id);
+    if (tab == null || !isTabEnabled(id)) {
+      // the tab was removed or disabled while the event was in flight, revert the client-side
+      // selection
+      getElement().executeJs("this.selectedTabId = $0", getSelectedId());
+      return;
+    }
+
+    updateSelectedTab(tab, true);
+    if (tab.getTarget() != null) {
+      getUI().ifPresent(ui -> EnhancedTabs.navigate(ui, tab.getTarget()));
+    }
+  }
+
+  private void updateSelectedTab(TabDescriptor tab, boolean changedFromClient) {
+    TabDescriptor previousTab = selectedTab;
+    selectedTab = tab;
+    if (previousTab == null ? tab == null : tab != null && previousTab.getId().equals(tab.getId())) {
+      return;
+    }
+    getElement().setProperty("selectedTabId", getSelectedId());
+    fireEvent(new SelectedChangeEvent(this, previousTab, changedFromClient));
+  }
+
+  /**
+   * Adds a listener for {@link SelectedChangeEvent}.
+   *
+   * @param listener the listener to add, not <code>null</code>
+   * @return a handle that can be used for removing the listener
+   */
+  public Registration addSelectedChangeListener(
+      ComponentEventListener<SelectedChangeEvent> listener) {
+    return addListener(SelectedChangeEvent.class, listener);
+  }
+
+  /** An event to mark that the selected tab has changed. */
+  public static class SelectedChangeEvent extends ComponentEvent<LightweightEnhancedTabs> {
+    private final TabDescriptor selectedTab;
+    private final TabDescriptor previousTab;
+
+    /**
+     * Creates a new selected change event.
+     *
+     * @param source The tabs that fired the event.
+     * @param previousTab The previous selected tab.
+     * @param fromClient <code>true</code> for client-side events, <code>false</code> otherwise.
+     */
+    public SelectedChangeEvent(
+        LightweightEnhancedTabs source, TabDescriptor previousTab, boolean fromClient) {
+      super(source, fromClient);
+      selectedTab = source.getSelectedTab();
+      this.previousTab = previousTab;
+    }
+
+    /**
+     * Get selected tab for this event.
+     *
+     * @return the selected tab for this event, or {@code null} if none is selected
+     */
+    public TabDescriptor getSelectedTab() {
+      return selectedTab;
+    }
+
+    /**
+     * Get previous selected tab for this event.
+     *
+     * @return the previous selected tab, or {@code null} if none was selected
+     */
+    public TabDescriptor getPreviousTab() {
+      return previousTab;
+    }
+  }
+
+  /**
+   * An event fired by the client when a tab has been selected. It is handled by the component,
+   * which updates the server-side selection.
+   */
+  @DomEvent("fc-enhanced-tabs-select")
+  public static class TabSelectionEvent extends ComponentEvent<LightweightEnhancedTabs> {
+    private final String id;
+
+    /**
+     * Creates a new tab selection event.
+     *
+     * @param source The tabs that fired the event.
+     * @param fromClient <code>true</code> for client-side events, <code>false</code> otherwise.
+     * @param id The id of the selected tab.
+     */
+    public TabSelectionEvent(
+        LightweightEnhancedTabs source,
+        boolean fromClient,
+        @EventData("event.detail.id") String id) {
+      super(source, fromClient);
+      this.id = id;
+    }
+
+    /**
+     * Gets the id of the tab that was selected on the client.
+     *
+     * @return the id of the selected tab
+     */
+    public String getId() {
+      return id;
+    }
+  }
+}
@@ -0,0 +1,161 @@
+/*-
+ * #%L
+ * Enhanced Tabs Add-on
+ * %%
+ * Copyright (C) 2023-2026 Flowing Code
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package com.flowingcode.vaadin.addons.enhancedtabs;
+
+import com.vaadin.flow.component.Component;
+import elemental.json.Json;
+import elemental.json.JsonArray;
+import java.io.Serializable;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * An immutable description of a tab that is rendered on the client by
+ * {@link LightweightEnhancedTabs}, without creating a {@link com.vaadin.flow.component.tabs.Tab}
+ * component on the server.
+ */
+@SuppressWarnings("serial")
+public final class TabDescriptor implements Serializable {
+
+  private final String id;
+
+  private final String label;
+
+  private final String icon;
+
+  private final Class<? extends Component> target;
+
+  /**
+   * Creates a new descriptor without icon.
+   *
+   * @param id the identifier of the tab, not {@code null}
+   * @param label the label of the tab, not {@code null}
+   */
+  public TabDescriptor(String id, String label) {
+    this(id, label, null);
+  }
+
+  /**
+   * Creates a new descriptor.
+   *
+   * @param id the identifier of the tab, not {@code null}
+   * @param label the label of the tab, not {@code null}
+   * @param icon the name of the icon of the tab (e.g. {@code "vaadin:home"}), or {@code null}
+   */
+  public TabDescriptor(String id, String label, String icon) {
+    this(id, label, icon, null);
+  }
+
+  /**
+   * Creates a new descriptor for a tab that navigates to a route when it is selected from the
+   * client.
+   *
+   * @param id the identifier of the tab, not {@code null}
+   * @param label the label of the tab, not {@code null}
+   * @param icon the name of the icon of the tab (e.g. {@code "vaadin:home"}), or {@code null}
+   * @param target the route target, or {@code null}
+   */
+  public TabDescriptor(String id, String label, String icon, Class<? extends Component> target) {
+    this.id = Objects.requireNonNull(id, "The id cannot be null");
+    this.label = Objects.requireNonNull(label, "The label cannot be null");
+    this.icon = icon;
+    this.target = target;
+  }
+
+  /**
+   * Gets the identifier of the tab.
+   *
+   * @return the identifier of the tab
+   */
+  public String getId() {
+    return id;
+  }
+
+  /**
+   * Gets the label of the tab.
+   *
+   * @return the label of the tab
+   */
+  public String getLabel() {
+    return label;
+  }
+
+  /**
+   * Gets the name of the icon of the tab.
+   *
+   * @return the name of the icon, or {@code null} if the tab has no icon
+   */
+  public String getIcon() {
+    return icon;
+  }
+
+  /**
+   * Gets the route target of the tab.
+   *
+   * @return the route target, or {@code null} if the tab does not navigate
+   */
+  public Class<? extends Component> getTarget() {
+    return target;
+  }
+
+  @Override
+  public boolean equals(Object obj) {
+    if (this == obj) {
+      return true;
+    }
+    if (!(obj instanceof TabDescriptor)) {
+      return false;
+    }
+    TabDescriptor other = (TabDescriptor) obj;
+    return id.equals(other.id)
+        && label.equals(other.label)
+        && Objects.equals(icon, other.icon)
+        && Objects.equals(target, other.target);
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(id, label, icon, target);
+  }
+
+  @Override
+  public String toString() {
+    return "TabDescriptor[" + id + "]";
+  }
+
+  /**
+   * Encodes the given descriptors as the JSON array that is rendered by the connector. Each tab is
+   * encoded as an array with its id, its label and, if present, its icon.
+   */
+  static JsonArray toJson(List<TabDescriptor> descriptors) {
+    JsonArray json = Json.createArray();
+    for (int i = 0; i < descriptors.size(); i++) {
+      TabDescriptor descriptor = descriptors.get(i);
+      JsonArray tab = Json.createArray();
+      tab.set(0, descriptor.id);
+      tab.set(1, descriptor.label);
+      if (descriptor.icon != null) {
+        tab.set(2, descriptor.icon);
+      }
+      json.set(i, tab);
+    }
+    return json;
+  }
+}
@@ -0,0 +1,122 @@
+/*-
+ * #%L
+ * Enhanced Tabs Add-on
+ * %%
+ * Copyright (C) 2023-2026 Flowing Code
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package com.flowingcode.vaadin.addons.enhancedtabs;
+
+import com.vaadin.flow.component.tabs.Tab;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * An n-gram index over the labels of the tabs, used by the overflow filter of
+ * {@link EnhancedTabs}.
+ *
+ * <p>Every substring of one to three characters of each label is indexed. The badges of the tabs
+ * are not part of their labels. Queries of up to three characters are answered with a single
+ * lookup. Longer queries look up the tabs of their least frequent trigram, and verify those
+ * candidates against the full label.
+ */
+@SuppressWarnings("serial")
+final class TabSearchIndex implements Serializable {
+
+  private static final int MAX_GRAM = 3;
+
+  private final Map<String, Set<Tab>> grams = new HashMap<>();
+
+  private final Map<Tab, String> labels = new IdentityHashMap<>();
+
+  /** Adds the given tab to the index, or updates it if its label has changed. */
+  void add(Tab tab) {
+    String label = normalize(EnhancedTabs.getLabel(tab));
+    String old = labels.put(tab, label);
+    if (label.equals(old)) {
+      return;
+    }
+    if (old != null) {
+      removeGrams(tab, old);
+    }
+    for (int n = 1; n <= MAX_GRAM; n++) {
+      for (int i = 0; i + n <= label.length(); i++) {
+        grams.computeIfAbsent(label.substring(i, i + n), gram -> new HashSet<>()).add(tab);
+      }
+    }
+  }
+
+  /** Removes the given tab from the index. */
+  void remove(Tab tab) {
+    String old = labels.remove(tab);
+    if (old != null) {
+      removeGrams(tab, old);
+    }
+  }
+
+  /** Removes all the tabs from the index. */
+  void clear() {
+    grams.clear();
+    labels.clear();
+  }
+
+  /** Returns the tabs whose label contains the given query, ignoring case, in no given order. */
+  List<Tab> search(String query) {
+    String q = normalize(query).trim();
+    if (q.isEmpty()) {
+      return Collections.emptyList();
+    }
+    if (q.length() <= MAX_GRAM) {
+      return new ArrayList<>(grams.getOrDefault(q, Collections.emptySet()));
+    }
+
+    Set<Tab> candidates = null;
+    for (int i = 0; i + MAX_GRAM <= q.length(); i++) {
+      Set<Tab> tabs = grams.get(q.substring(i, i + MAX_GRAM));
+      if (tabs == null) {
+        return Collections.emptyList();
+      }
+      if (candidates == null || tabs.size() < candidates.size()) {
+        candidates = tabs;
+      }
+    }
+    return candidates.stream().filter(tab -> labels.get(tab).contains(q)).collect(Collectors.toList());
+  }
+
+  private void removeGrams(Tab tab, String label) {
+    for (int n = 1; n <= MAX_GRAM; n++) {
+      for (int i = 0; i + n <= label.length(); i++) {
+        String gram = label.substring(i, i + n);
+        Set<Tab> tabs = grams.get(gram);
+        if (tabs != null && tabs.remove(tab) && tabs.isEmpty()) {
+          grams.remove(gram);
+        }
+      }
+    }
+  }
+
+  private static String normalize(String s) {
+    return s.toLowerCase(Locale.ROOT);
+  }
+}
@@ -0,0 +1,122 @@
+/*-
+ * #%L
+ * Enhanced Tabs Add-on
+ * %%
+ * Copyright (C) 2023-2026 Flowing Code
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package com.flowingcode.vaadin.addons.enhancedtabs;
+
+import elemental.json.JsonArray;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * An immutable set of tab descriptors that can be shared by the {@link LightweightEnhancedTabs}
+ * components of all the sessions.
+ *
+ * <p>The JSON representation that is sent to the client and the lookup of tabs by id are computed
+ * once, when the definition is created. Components that use a shared definition only keep their
+ * mutable state (the selected tab, the disabled tabs and the badges), e.g.:
+ *
+ * <pre>
+ * static final TabSetDefinition NAVIGATION = new TabSetDefinition(
+ *     new TabDescriptor("home", "Home", "vaadin:home", HomeView.class),
+ *     new TabDescriptor("orders", "Orders", "vaadin:cart", OrdersView.class));
+ *
+ * LightweightEnhancedTabs tabs = new LightweightEnhancedTabs(NAVIGATION);
+ * </pre>
+ */
+@SuppressWarnings("serial")
+public final class TabSetDefinition implements Serializable {
+
+  private final List<TabDescriptor> tabs;
+
+  private final Map<String, Integer> positions;
+
+  // shared by the components that use this definition, and never modified
+  private final JsonArray json;
+
+  /**
+   * Creates a new definition with the given tabs.
+   *
+   * @param tabs the descriptors of the tabs
+   * @throws IllegalArgumentException if there are two tabs with the same id
+   */
+  public TabSetDefinition(TabDescriptor... tabs) {
+    this(Arrays.asList(Objects.requireNonNull(tabs, "Tabs should not be null")));
+  }
+
+  /**
+   * Creates a new definition with the given tabs.
+   *
+   * @param tabs the descriptors of the tabs
+   * @throws IllegalArgumentException if there are two tabs with the same id
+   */
+  public TabSetDefinition(List<TabDescriptor> tabs) {
+    Objects.requireNonNull(tabs, "Tabs should not be null");
+    this.tabs = Collections.unmodifiableList(new ArrayList<>(tabs));
+
+    Map<String, Integer> positions = new HashMap<>();
+    for (int i = 0; i < this.tabs.size(); i++) {
+      TabDescriptor tab = Objects.requireNonNull(this.tabs.get(i), "Tab cannot be null");
+      if (positions.put(tab.getId(), i) != null) {
+        throw new IllegalArgumentException("The ids of the tabs must be unique: " + tab.getId());
+      }
+    }
+    this.positions = Collections.unmodifiableMap(positions);
+    json = TabDescriptor.toJson(this.tabs);
+  }
+
+  /**
+   * Gets the tabs of this definition.
+   *
+   * @return an unmodifiable list with the descriptors of the tabs
+   */
+  public List<TabDescriptor> getTabs() {
+    return tabs;
+  }
+
+  /**
+   * Gets the number of tabs of this definition.
+   *
+   * @return the number of tabs
+   */
+  public int size() {
+    return tabs.size();
+  }
+
+  /**
+   * Returns the position of the tab with the given id.
+   *
+   * @param id the id of the tab
+   * @return the position of the tab, or -1 if there is no tab with the given id
+   */
+  public int indexOf(String id) {
+    Integer index = positions.get(id);
+    return index == null ? -1 : index;
+  }
+
+  /** Returns the JSON array that is rendered by the connector. */
+  JsonArray toJson() {
+    return json;
+  }
+}
@@ -27,51 +27,476 @@
 		
 		let close = tabs._close;
 		
+		// delegated click handler for the tabs in the menu bar and in the overflow menu
+		const onClick = ev=>{
+			const path = ev.composedPath();
+			const tab = path.find(e=>e.localName==='vaadin-tab');
+			if (!tab) return;
+			
+			// select the tab before the server is notified, the server reverts it if needed
+			// (tabs in the submenu of a group are selected by the server)
+			if (tabs.optimisticSelection && !tab.disabled && indexOf(tab) >= 0) {
+				selectClientTab(tab);
+			}
+			
+			// tabs rendered from descriptors report their selection by id
+			if (tab._fcTabId !== undefined && !tab.disabled) {
+				tabs.dispatchEvent(new CustomEvent('fc-enhanced-tabs-select', {detail: {index: indexOf(tab), id: tab._fcTabId}}));
+			}
+			
+			// router links added with addRouterLink are navigated through the server
+			const link = path.find(e=>e.hasAttribute && e.hasAttribute('fc-enhanced-tabs-link'));
+			if (link && path.indexOf(link) < path.indexOf(tab)) {
+				ev.preventDefault();
+				link.dispatchEvent(new CustomEvent('client-side-click'));
+			}
+			
+			// close on click
+			// Vaadin 23: vaadin-context-menu-overlay
+			// Vaadin 24: vaadin-menu-bar-overlay
+			const overlay = path.find(e=>e.localName==='vaadin-menu-bar-overlay' || e.localName==='vaadin-context-menu-overlay');
+			overlay && overlay.close();
+		};
+		
+		tabs.addEventListener('click', onClick);
+		
+		const findSelectedTab = ()=>{
+			const item = (tabs.items || []).find(item=>item.component && item.component.querySelector('vaadin-tab[selected]'));
+			return item && item.component.querySelector('vaadin-tab[selected]');
+		};
+		
+		// marks the given tab as selected on the client, and moves it out of the overflow
+		const selectClientTab = tab=>{
+			const previous = tabs._fcSelectedTab && tabs._fcSelectedTab.selected ? tabs._fcSelectedTab : findSelectedTab();
+			if (previous === tab) return;
+			if (previous) previous.selected = false;
+			if (tab) tab.selected = true;
+			tabs._fcSelectedTab = tab;
+			tabs.__detectOverflow();
+		};
+		tabs._fcSelectClientTab = selectClientTab;
+		
+		// keyboard selection runs on the client, the server is notified once the user stops moving
+		let keyboardTimeout;
+		const tabOf = item=>item && item.component && item.component.querySelector('vaadin-tab');
+		const onKeyDown = ev=>{
+			if (!tabs.keyboardSelection || ev.altKey || ev.ctrlKey || ev.metaKey || ev.shiftKey) return;
+			// the keys of the overflow filter are left to the field
+			if (ev.composedPath().includes(filterInput)) return;
+			const items = tabs.items || [];
+			const current = tabs._fcSelectedTab && tabs._fcSelectedTab.selected ? tabs._fcSelectedTab : findSelectedTab();
+			let index = current ? items.findIndex(item=>item.component && item.component===current.parentElement) : -1;
+			const rtl = tabs.getAttribute('dir') === 'rtl';
+			let step;
+			switch (ev.key) {
+				case 'ArrowRight': step = rtl ? -1 : 1; break;
+				case 'ArrowLeft': step = rtl ? 1 : -1; break;
+				case 'Home': index = -1; step = 1; break;
+				case 'End': index = items.length; step = -1; break;
+				default: return;
+			}
+			
+			// skip the disabled tabs
+			let next = index + step;
+			while (next >= 0 && next < items.length && (!tabOf(items[next]) || tabOf(items[next]).disabled)) {
+				next += step;
+			}
+			ev.preventDefault();
+			ev.stopPropagation();
+			if (next < 0 || next >= items.length) return;
+			
+			selectClientTab(tabOf(items[next]));
+			// the selected tab is moved out of the overflow menu, so the focus leaves the overlay
+			if (ev.currentTarget !== tabs) tabs._subMenu.close();
+			const button = tabs._buttons.find(b=>b.item===items[next]);
+			button && button.focus();
+			
+			clearTimeout(keyboardTimeout);
+			const delay = tabs.keyboardSelectionDelay === undefined ? 300 : tabs.keyboardSelectionDelay;
+			keyboardTimeout = setTimeout(()=>{
+				tabs.dispatchEvent(new CustomEvent('fc-enhanced-tabs-select', {detail: {index: next, id: tabOf(items[next])._fcTabId}}));
+			}, delay);
+		};
+		
+		tabs.addEventListener('keydown', onKeyDown, true);
+		
+		// index of a tab in the root items of the menu bar
+		const indexOf = tab=>(tabs.items || []).findIndex(item=>item.component && item.component===tab.parentElement);
+		
+		// delegated hover handler, fires fc-enhanced-tabs-hover after hoverPrefetchDelay
+		let hoverTimeout, hoveredTab;
+		const onMouseOver = ev=>{
+			const tab = ev.composedPath().find(e=>e.localName==='vaadin-tab');
+			if (tab === hoveredTab) return;
+			clearTimeout(hoverTimeout);
+			hoveredTab = tab;
+			if (!tab) return;
+			const delay = tabs.hoverPrefetchDelay === undefined ? 300 : tabs.hoverPrefetchDelay;
+			hoverTimeout = setTimeout(()=>{
+				const index = indexOf(tab);
+				if (index >= 0) {
+					tabs.dispatchEvent(new CustomEvent('fc-enhanced-tabs-hover', {detail: {index}}));
+				}
+			}, delay);
+		};
+		
+		const onMouseLeave = ()=>onMouseOver({composedPath: ()=>[]});
+		
+		tabs.addEventListener('mouseover', onMouseOver);
+		tabs.addEventListener('mouseleave', onMouseLeave);
+		
 		tabs._subMenu.addEventListener('opened-changed',ev=>{
 			if (ev.detail.value) {
 				let submenu = tabs._subMenu;
 				let overlay = submenu._overlayElement || submenu.$.overlay;
+				if (!overlay.fcEnhancedTabsConnector) {
+					// the overlay is teleported out of the menu bar
+					overlay.fcEnhancedTabsConnector = true;
+					overlay.addEventListener('click', onClick);
+					overlay.addEventListener('keydown', onKeyDown, true);
+					overlay.addEventListener('mouseover', onMouseOver);
+					overlay.addEventListener('mouseleave', onMouseLeave);
+					overlay.addEventListener('scroll', onOverflowScroll, true);
+				}
 				if (overlay.hasAttribute('end-aligned')) {
 					tabs._close = ()=>{};
 					if (tabs._preventCloseTimeout) clearTimeout(tabs._preventCloseTimeout);
 					tabs._preventCloseTimeout = setTimeout(()=>tabs._close = close, 500);
 				}
-				requestAnimationFrame(()=>{
-					let selectedTab = overlay.querySelector('vaadin-tab[selected]');
-					if (selectedTab) {
-						requestAnimationFrame(()=>{
-							selectedTab.scrollIntoViewIfNeeded ? selectedTab.scrollIntoViewIfNeeded() : selectedTab.scrollIntoView();
-						});
+				
+				// groups are populated by the server the first time they are shown
+				const items = tabs.items || [];
+				const groups = submenu.items === tabs._fcOverflowSlice ? submenu.items : items.filter(item=>item.children === submenu.items);
+				groups.forEach(item=>{
+					if (item.component && item.component.querySelector('vaadin-tab[fc-enhanced-tabs-lazy-group]')) {
+						tabs.dispatchEvent(new CustomEvent('fc-enhanced-tabs-group-open', {detail: {index: items.indexOf(item)}}));
 					}
 				});
+				
+				if (submenu.items === tabs._fcOverflowSlice && tabs._fcOverflowSelected >= 0) {
+					// scroll the selected tab into view by its index in the rendered window
+					const index = tabs._fcOverflowSelected - tabs._fcOverflowStart + (tabs.overflowFilter ? 1 : 0);
+					requestAnimationFrame(()=>{
+						const listBox = overlay.querySelector('vaadin-menu-bar-list-box, vaadin-context-menu-list-box');
+						const selectedItem = listBox && listBox.items && listBox.items[index];
+						if (selectedItem) {
+							requestAnimationFrame(()=>{
+								selectedItem.scrollIntoViewIfNeeded ? selectedItem.scrollIntoViewIfNeeded() : selectedItem.scrollIntoView();
+							});
+						}
+					});
+				}
 			}
 		});
 		
+		// the filter field is rendered as the first item of the overflow menu
+		let filterTimeout;
+		// the last filter request, and the results of the server for it
+		let filterRequest;
+		let filterResults;
+		const filterInput = document.createElement('input');
+		filterInput.type = 'search';
+		filterInput.className = 'fc-enhanced-tabs-filter';
+		filterInput._item = {children:{}};
+		['click', 'mousedown', 'keydown'].forEach(type=>filterInput.addEventListener(type, ev=>ev.stopPropagation()));
+		filterInput.addEventListener('input', ()=>{
+			clearTimeout(filterTimeout);
+			filterTimeout = setTimeout(()=>{
+				const query = filterInput.value.trim();
+				if (!query) {
+					setOverflowWindow(tabs._fcOverflowStart || 0);
+				} else {
+					requestFilter(query);
+				}
+			}, 150);
+		});
+		
+		// the server only returns the tabs from the first overflowed tab
+		const filterStart = ()=>{
+			const first = tabs._fcOverflowItems && tabs._fcOverflowItems[0];
+			return first ? (tabs.items || []).indexOf(first) : 0;
+		};
+		
+		const requestFilter = query=>{
+			filterRequest = {query, start: filterStart()};
+			tabs.dispatchEvent(new CustomEvent('fc-enhanced-tabs-filter', {detail: filterRequest}));
+		};
+		const filterComponent = document.createElement('vaadin-context-menu-item');
+		filterComponent.appendChild(filterInput);
+		const filterItem = {component: filterComponent};
+		
+		const showOverflowItems = (slice, filtered)=>{
+			const overflow = tabs._overflow || tabs._buttons[tabs._buttons.length-1];
+			const submenu = tabs._subMenu;
+			const focused = document.activeElement === filterInput;
+			filterInput.placeholder = tabs.overflowFilterPlaceholder || '';
+			if (submenu.items === tabs._fcOverflowSlice) {
+				submenu.items = slice;
+			}
+			if (overflow.item) overflow.item.children = slice;
+			tabs._fcOverflowSlice = slice;
+			tabs._fcOverflowFiltered = filtered;
+			if (focused) requestAnimationFrame(()=>filterInput.focus());
+		};
+		
+		// the indices are computed by the server, only the tabs that are still overflowed are shown
+		tabs._fcSetFilterResults = (query, indices)=>{
+			if (query !== filterInput.value.trim() || !tabs._fcOverflowItems) return;
+			if (filterRequest && filterRequest.query === query) {
+				filterResults = {query, start: filterRequest.start, indices};
+			}
+			const overflowed = new Set(tabs._fcOverflowItems);
+			const results = indices ? indices.split(',').map(i=>tabs.items[+i]).filter(item=>overflowed.has(item)) : [];
+			showOverflowItems([filterItem, ...results], true);
+		};
+		
+		// the overflow menu renders only a window of overflowPageSize items
+		const setOverflowWindow = start=>{
+			const items = tabs._fcOverflowItems;
+			const pageSize = tabs.overflowPageSize || 50;
+			start = Math.max(0, Math.min(start, items.length - pageSize));
+			const slice = items.slice(start, start + pageSize);
+			if (tabs.overflowFilter) slice.unshift(filterItem);
+			showOverflowItems(slice, false);
+			tabs._fcOverflowStart = start;
+		};
+		
+		const virtualizeOverflow = ()=>{
+			const overflow = tabs._overflow || tabs._buttons[tabs._buttons.length-1];
+			const items = (overflow.item && overflow.item.children) || [];
+			tabs._fcOverflowItems = items;
+			tabs._fcOverflowSlice = undefined;
+			tabs._fcOverflowSelected = items.findIndex(item=>item.component && item.component.querySelector('vaadin-tab[selected]'));
+			
+			// keep filtering after the overflowed tabs change, the results are requested again only if
+			// the first overflowed tab moved
+			const query = tabs.overflowFilter ? filterInput.value.trim() : '';
+			if (query) {
+				const cached = filterResults && filterResults.query === query;
+				if (cached) {
+					tabs._fcSetFilterResults(query, filterResults.indices);
+				} else {
+					showOverflowItems([filterItem], true);
+				}
+				if (!cached || filterResults.start !== filterStart()) {
+					requestFilter(query);
+				}
+				return;
+			}
+			
+			const pageSize = tabs.overflowPageSize || 50;
+			setOverflowWindow(tabs._fcOverflowSelected - Math.floor(pageSize / 2));
+		};
+		
+		// slide the window by half a page when the overflow menu is scrolled to either end
+		const onOverflowScroll = ev=>{
+			const slice = tabs._fcOverflowSlice;
+			const items = tabs._fcOverflowItems;
+			if (!slice || !slice.length || tabs._subMenu.items !== slice || tabs._fcOverflowFiltered) return;
+			
+			const scroller = ev.target;
+			const itemHeight = scroller.scrollHeight / slice.length;
+			const start = tabs._fcOverflowStart;
+			const shift = Math.max(1, Math.floor(slice.length / 2));
+			let newStart;
+			if (scroller.scrollTop + scroller.clientHeight >= scroller.scrollHeight - itemHeight && start + slice.length < items.length) {
+				newStart = start + shift;
+			} else if (scroller.scrollTop <= itemHeight && start > 0) {
+				newStart = start - shift;
+			} else {
+				return;
+			}
+			
+			setOverflowWindow(newStart);
+			scroller.scrollTop -= (tabs._fcOverflowStart - start) * itemHeight;
+		};
+		
 		const __detectOverflow = tabs.__detectOverflow.bind(tabs);
-
+		
+		// cumulative values, the server listens to the overflow event only when metrics are enabled
+		let overflowCalls = 0;
+		let overflowMillis = 0;
+		
 		tabs.__detectOverflow = function() {
+			const start = performance.now();
+			overflowCalls++;
+			pinSelected();
+			virtualizeOverflow();
+			
+			overflowMillis += performance.now() - start;
+			tabs.dispatchEvent(new CustomEvent('fc-enhanced-tabs-overflow', {detail: {calls: overflowCalls, millis: overflowMillis}}));
+		};
+		
+		const pinSelected = ()=>{
 			//restore the normal order of buttons
 			var buttons  = tabs._buttons;
-			const selectedButton = buttons.find(e=>e._position!==undefined);
-			if (selectedButton) {
-				buttons[0].parentElement.insertBefore(selectedButton, buttons[selectedButton._position+1]);
-				__detectOverflow();
-				selectedButton._position=undefined;
+			const movedButton = buttons.find(e=>e._position!==undefined);
+			if (movedButton) {
+				buttons[0].parentElement.insertBefore(movedButton, buttons[movedButton._position+1]);
+				movedButton._position=undefined;
 			}
-		
+			
+			// the only layout pass of the original overflow detection
 			__detectOverflow();
 			
-			// move the selected tab out of the overflow button
 			buttons  = tabs._buttons;
-			const selectedIndex = buttons.findIndex(e=>e.item.component && e.item.component.querySelector('vaadin-tab[selected]'));
-			let overflowIndex  = buttons.findIndex(e=>e.style.visibility);
-			while (selectedIndex>=overflowIndex && overflowIndex>=0 && buttons[selectedIndex].style.visibility) {
-				buttons[0].parentElement.insertBefore(buttons[selectedIndex], buttons[overflowIndex--]);
-				__detectOverflow();
-				buttons[selectedIndex]._position = selectedIndex;
+			const overflow = tabs._overflow || buttons[buttons.length-1];
+			const selectedIndex = buttons.findIndex(e=>e.item && e.item.component && e.item.component.querySelector('vaadin-tab[selected]'));
+			const overflowIndex  = buttons.findIndex(e=>e.style.visibility);
+			if (selectedIndex<0 || overflowIndex<0 || selectedIndex<overflowIndex || !overflow.item) return;
+			
+			// measure the buttons once (hidden buttons keep their width in the style attribute)
+			const width = button => parseFloat(button.style.width) || button.getBoundingClientRect().width;
+			const widths = buttons.slice(0, overflowIndex).map(width);
+			
+			// the selected button takes the place of the last visible buttons that it doesn't fit with
+			let available = widths.reduce((a, b) => a + b, 0) - width(buttons[selectedIndex]);
+			let position = 0;
+			while (position<overflowIndex && available>=widths[position]) {
+				available -= widths[position++];
+			}
+			
+			// hide the displaced buttons as the original detection does, with the widths measured above
+			for (let i = position; i < overflowIndex; i++) {
+				const button = buttons[i];
+				button.style.width = widths[i] + 'px';
+				button.style.visibility = 'hidden';
+				button.style.position = 'absolute';
+				button.disabled = true;
 			}
+			
+			// move the selected button out of the overflow menu, without laying out the buttons again
+			const selected = buttons[selectedIndex];
+			selected.style.width = '';
+			selected.style.visibility = '';
+			selected.style.position = '';
+			selected.disabled = !!(selected.item && selected.item.disabled);
+			buttons[0].parentElement.insertBefore(selected, buttons[position]);
+			selected._position = selectedIndex;
+			overflow.item.children = buttons.filter((button, i)=>i>=position && button!==selected && button!==overflow).map(button=>button.item);
 		};
+		
+		// debounce the resize-triggered recomputations to one per animation frame
+		if (tabs._onResize) {
+			const _onResize = tabs._onResize.bind(tabs);
+			let resizeFrame;
+			tabs._onResize = function() {
+				if (resizeFrame) return;
+				resizeFrame = requestAnimationFrame(()=>{
+					resizeFrame = undefined;
+					_onResize();
+				});
+			};
+		}
 	
-	}	
+	},
+	
+	initDescriptors: tabs => {
+		const connector = window.Vaadin.Flow.fcEnhancedTabsConnector;
+		connector.initLazy(tabs);
+		
+		if (tabs.fcEnhancedTabsDescriptors) return;
+		tabs.fcEnhancedTabsDescriptors = true;
+		
+		// each descriptor is encoded as [id, label, icon]
+		const createItem = ([id, label, icon])=>{
+			const item = document.createElement('vaadin-context-menu-item');
+			const tab = document.createElement('vaadin-tab');
+			tab._fcTabId = id;
+			tab._item = {children:{}};
+			if (icon) {
+				const iconElement = document.createElement(customElements.get('vaadin-icon') ? 'vaadin-icon' : 'iron-icon');
+				iconElement.setAttribute('icon', icon);
+				tab.appendChild(iconElement);
+			}
+			tab.appendChild(document.createTextNode(label));
+			if (id === tabs.selectedTabId) {
+				tab.selected = true;
+				tabs._fcSelectedTab = tab;
+			}
+			item.appendChild(tab);
+			return {component: item};
+		};
+		
+		// per-component state: the disabled tabs (by position) and the badges (by id)
+		const applyState = ()=>{
+			const disabled = new Set(tabs.disabledTabs || []);
+			const badges = tabs.tabBadges || {};
+			(tabs.items || []).forEach((item, index)=>{
+				const tab = item.component.firstChild;
+				tab.disabled = disabled.has(index);
+				let badge = tab.querySelector('.fc-enhanced-tabs-badge');
+				const text = badges[tab._fcTabId];
+				if (text === undefined) {
+					badge && badge.remove();
+				} else {
+					if (!badge) {
+						badge = document.createElement('span');
+						badge.className = 'fc-enhanced-tabs-badge';
+						badge.setAttribute('theme', 'badge small pill');
+						tab.appendChild(badge);
+					}
+					badge.textContent = text;
+				}
+			});
+		};
+		
+		const render = ()=>{
+			tabs._fcSelectedTab = undefined;
+			tabs.items = (tabs.tabDescriptors || []).map(createItem);
+			applyState();
+		};
+		
+		const select = ()=>{
+			const item = (tabs.items || []).find(item=>item.component.firstChild._fcTabId === tabs.selectedTabId);
+			connector.syncSelection(tabs, item ? item.component.firstChild : null);
+			tabs.__detectOverflow();
+		};
+		
+		// re-render when the server updates the properties
+		const observe = (name, callback)=>{
+			let value = tabs[name];
+			Object.defineProperty(tabs, name, {
+				get: ()=>value,
+				set: v=>{
+					value = v;
+					callback();
+				},
+				configurable: true
+			});
+		};
+		observe('tabDescriptors', render);
+		observe('selectedTabId', select);
+		observe('disabledTabs', ()=>{
+			applyState();
+			tabs.__detectOverflow();
+		});
+		observe('tabBadges', ()=>{
+			applyState();
+			tabs.__detectOverflow();
+		});
+		render();
+	},
+	
+	setFilterResults: (tabs, query, indices) => {
+		tabs._fcSetFilterResults && tabs._fcSetFilterResults(query, indices);
+	},
+	
+	syncSelection: (tabs, tab) => {
+		const previous = tabs._fcSelectedTab;
+		if (previous && previous !== tab) previous.selected = false;
+		if (tab) tab.selected = true;
+		tabs._fcSelectedTab = tab;
+	},
+	
+	initTabs: (tabs, items) => {
+		items.forEach(tab=>{
+			if (!tab) return;
+			
+			// this is a workaround for
+			// https://github.com/vaadin/web-components/blob/c805b384cf9c3691b8310af30de85af07fced5f7/packages/context-menu/src/vaadin-contextmenu-items-mixin.js#L225
+			tab._item = {children:{}};
+		});
+	}
   }
 })();
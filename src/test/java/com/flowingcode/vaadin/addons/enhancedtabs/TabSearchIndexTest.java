@@ -0,0 +1,109 @@
+/*-
+ * #%L
+ * Enhanced Tabs Add-on
+ * %%
+ * Copyright (C) 2023-2026 Flowing Code
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package com.flowingcode.vaadin.addons.enhancedtabs;
+
+import com.vaadin.flow.component.UI;
+import com.vaadin.flow.component.tabs.Tab;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+// in the package of the index, which is not public
+public class TabSearchIndexTest {
+
+  private TabSearchIndex index;
+  private Tab tab1;
+  private Tab tab10;
+  private Tab tab2;
+
+  @Before
+  public void before() {
+    tab1 = new Tab("Tab 1");
+    tab10 = new Tab("Tab 10");
+    tab2 = new Tab("Other 2");
+    index = new TabSearchIndex();
+    index.add(tab1);
+    index.add(tab10);
+    index.add(tab2);
+  }
+
+  private Set<Tab> search(String query) {
+    return new HashSet<>(index.search(query));
+  }
+
+  private static Set<Tab> setOf(Tab... tabs) {
+    return new HashSet<>(Arrays.asList(tabs));
+  }
+
+  @Test
+  public void testShortQuery() {
+    Assert.assertEquals(setOf(tab1, tab10), search("TA"));
+    Assert.assertEquals(setOf(tab1, tab10), search("1"));
+    Assert.assertEquals(setOf(), search("x"));
+  }
+
+  @Test
+  public void testLongQuery() {
+    Assert.assertEquals(setOf(tab1, tab10), search("tab 1"));
+    Assert.assertEquals(setOf(tab10), search("ab 10"));
+    Assert.assertEquals(setOf(tab2), search("other"));
+    Assert.assertEquals(setOf(), search("tab 2"));
+  }
+
+  @Test
+  public void testEmptyQuery() {
+    Assert.assertEquals(setOf(), search(""));
+  }
+
+  @Test
+  public void testLabelUpdate() {
+    tab1.setLabel("Renamed");
+    index.add(tab1);
+    Assert.assertEquals(setOf(tab10), search("tab 1"));
+    Assert.assertEquals(setOf(tab1), search("renamed"));
+    Assert.assertEquals(setOf(tab1), search("re"));
+  }
+
+  @Test
+  public void testRemove() {
+    index.remove(tab10);
+    Assert.assertEquals(setOf(tab1), search("tab 1"));
+    Assert.assertEquals(setOf(tab1), search("1"));
+    index.clear();
+    Assert.assertEquals(setOf(), search("tab"));
+  }
+
+  @Test
+  public void testBadgeIsNotIndexed() {
+    Tab a = new Tab("a");
+    Tab b = new Tab("b");
+    EnhancedTabs tabs = new EnhancedTabs(a, b);
+    tabs.updateTabBadge(a, "3");
+    new UI().add(tabs);
+
+    index.add(a);
+    index.add(b);
+    Assert.assertEquals(setOf(), search("3"));
+    Assert.assertEquals(setOf(a), search("a"));
+  }
+}
@@ -0,0 +1,182 @@
+/*-
+ * #%L
+ * Enhanced Tabs Add-on
+ * %%
+ * Copyright (C) 2023-2026 Flowing Code
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package com.flowingcode.vaadin.addons.enhancedtabs.integration;
+
+import com.vaadin.testbench.ScreenshotOnFailureRule;
+import com.vaadin.testbench.TestBench;
+import com.vaadin.testbench.TestBenchElement;
+import com.vaadin.testbench.parallel.ParallelTest;
+import io.github.bonigarcia.wdm.WebDriverManager;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Rule;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.chrome.ChromeDriver;
+import org.openqa.selenium.chrome.ChromeOptions;
+
+/**
+ * Base class for ITs
+ *
+ * <p>The tests use Chrome driver (see pom.xml for integration-tests profile) to run integration
+ * tests on a headless Chrome. If a property {@code test.use .hub} is set to true, {@code
+ * AbstractViewTest} will assume that the TestBench test is running in a CI environment. In order to
+ * keep the this class light, it makes certain assumptions about the CI environment (such as
+ * available environment variables). It is not advisable to use this class as a base class for you
+ * own TestBench tests.
+ *
+ * <p>To learn more about TestBench, visit <a
+ * href="https://vaadin.com/docs/v10/testbench/testbench-overview.html">Vaadin TestBench</a>.
+ */
+public abstract class AbstractViewTest extends ParallelTest {
+
+  private static final int SERVER_PORT = 8080;
+
+  private final String route;
+
+  @Rule public ScreenshotOnFailureRule rule = new ScreenshotOnFailureRule(this, true);
+
+  public AbstractViewTest() {
+    this("");
+  }
+
+  protected AbstractViewTest(String route) {
+    this.route = route;
+  }
+
+  @BeforeClass
+  public static void setupClass() {
+    WebDriverManager.chromedriver().setup();
+  }
+
+  @Override
+  @Before
+  public void setup() throws Exception {
+    if (isUsingHub()) {
+      super.setup();
+    } else {
+      ChromeOptions options = new ChromeOptions();
+      options.addArguments("--headless", "--disable-gpu", "--window-size=1280,800");
+      setDriver(TestBench.createDriver(new ChromeDriver(options)));
+    }
+    open(route);
+  }
+
+  /**
+   * Navigates to the given route.
+   *
+   * @param route the route, relative to the context path
+   */
+  protected void open(String route) {
+    getDriver().get(getURL(route));
+  }
+
+  /**
+   * Executes the given JavaScript in the browser.
+   *
+   * @param script the script to execute
+   * @param args the arguments of the script
+   * @return the value returned by the script
+   */
+  protected Object executeScript(String script, Object... args) {
+    return ((JavascriptExecutor) getDriver()).executeScript(script, args);
+  }
+
+  /**
+   * Executes the given asynchronous JavaScript in the browser. The script signals its completion
+   * by invoking the callback provided as its last argument.
+   *
+   * @param script the script to execute
+   * @param args the arguments of the script
+   * @return the value passed to the callback
+   */
+  protected Object executeAsyncScript(String script, Object... args) {
+    return ((JavascriptExecutor) getDriver()).executeAsyncScript(script, args);
+  }
+
+  // a read of the layout forces a layout if the DOM changed since the previous read
+  private static final String COUNT_FORCED_LAYOUTS =
+      "let tabs = arguments[0];"
+          + "let observer = new MutationObserver(() => {});"
+          + "let options = {attributes: true, childList: true, characterData: true, subtree: true};"
+          + "observer.observe(tabs, options);"
+          + "observer.observe(tabs.shadowRoot, options);"
+          + "let count = 0;"
+          + "let wrap = (proto, name) => {"
+          + "  let desc = Object.getOwnPropertyDescriptor(proto, name);"
+          + "  let read = desc.value || desc.get;"
+          + "  let counted = function() {"
+          + "    if (observer.takeRecords().length) count++;"
+          + "    return read.apply(this, arguments);"
+          + "  };"
+          + "  Object.defineProperty(proto, name,"
+          + "    desc.value ? {value: counted, configurable: true, writable: true} : {get: counted, configurable: true});"
+          + "  return () => Object.defineProperty(proto, name, desc);"
+          + "};"
+          + "let restore = [wrap(Element.prototype, 'getBoundingClientRect'),"
+          + "  wrap(Element.prototype, 'scrollWidth'), wrap(HTMLElement.prototype, 'offsetWidth'),"
+          + "  wrap(HTMLElement.prototype, 'offsetLeft')];"
+          + "try { tabs.__detectOverflow(); } finally {"
+          + "  restore.forEach(r => r()); observer.disconnect();"
+          + "}"
+          + "return count;";
+
+  /**
+   * Counts the layouts that are forced by a recomputation of the overflow of the given tabs. A read
+   * of the geometry of an element is counted if the DOM of the tabs changed since the previous
+   * read.
+   *
+   * @param tabs the tabs
+   * @return the number of forced layouts
+   */
+  protected int countForcedLayouts(TestBenchElement tabs) {
+    return ((Number) executeScript(COUNT_FORCED_LAYOUTS, tabs)).intValue();
+  }
+
+  /**
+   * Returns deployment host name concatenated with route.
+   *
+   * @return URL to route
+   */
+  private static String getURL(String route) {
+    return String.format("http://%s:%d/%s", getDeploymentHostname(), SERVER_PORT, route);
+  }
+
+  /** Property set to true when running on a test hub. */
+  private static final String USE_HUB_PROPERTY = "test.use.hub";
+
+  /**
+   * Returns whether we are using a test hub. This means that the starter is running tests in
+   * Vaadin's CI environment, and uses TestBench to connect to the testing hub.
+   *
+   * @return whether we are using a test hub
+   */
+  private static boolean isUsingHub() {
+    return Boolean.TRUE.toString().equals(System.getProperty(USE_HUB_PROPERTY));
+  }
+
+  /**
+   * If running on CI, get the host name from environment variable HOSTNAME
+   *
+   * @return the host name
+   */
+  private static String getDeploymentHostname() {
+    return isUsingHub() ? System.getenv("HOSTNAME") : "localhost";
+  }
+}
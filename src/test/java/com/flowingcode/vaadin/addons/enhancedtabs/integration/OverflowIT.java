@@ -0,0 +1,119 @@
+/*-
+ * #%L
+ * Enhanced Tabs Add-on
+ * %%
+ * Copyright (C) 2023-2026 Flowing Code
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package com.flowingcode.vaadin.addons.enhancedtabs.integration;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import com.vaadin.testbench.TestBenchElement;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.Test;
+
+public class OverflowIT extends AbstractViewTest {
+
+  private static final String GET_LAYOUT =
+      "let tabs = arguments[0];"
+          + "let overflow = tabs._overflow || tabs._buttons[tabs._buttons.length - 1];"
+          + "let label = b => b.item.component.textContent.trim();"
+          + "let visible = tabs._buttons.filter(b => b !== overflow && !b.style.visibility);"
+          + "let right = Math.max(...visible.map(b => b.getBoundingClientRect().right));"
+          + "let fits = right <= overflow.getBoundingClientRect().left + 1;"
+          + "return [visible.map(label).join(','),"
+          + " tabs._buttons.filter(b => b !== overflow && b.style.visibility).map(label).join(','),"
+          + " fits];";
+
+  // the pinning measures the visible buttons once, and the selection may change by one the number
+  // of buttons that are hidden by the original detection
+  private static final int MAX_PINNING_LAYOUTS = 3;
+
+  private TestBenchElement tabs;
+
+  public OverflowIT() {
+    super("it/overflow");
+  }
+
+  private void select(String buttonId, String tabLabel) {
+    $(TestBenchElement.class).id(buttonId).click();
+    waitUntil(
+        driver ->
+            (Boolean)
+                executeScript(
+                    "let tab = arguments[0]._buttons.map(b => b.querySelector('vaadin-tab[selected]')).find(t => t);"
+                        + "return !!tab && tab.textContent.trim() === arguments[1];",
+                    tabs,
+                    tabLabel));
+  }
+
+  private List<String> getVisible() {
+    return Arrays.asList(((String) ((List<?>) executeScript(GET_LAYOUT, tabs)).get(0)).split(","));
+  }
+
+  // the hidden buttons, in the order of the overflow menu
+  private List<String> getOverflowed() {
+    return Arrays.asList(((String) ((List<?>) executeScript(GET_LAYOUT, tabs)).get(1)).split(","));
+  }
+
+  private boolean fits() {
+    return (Boolean) ((List<?>) executeScript(GET_LAYOUT, tabs)).get(2);
+  }
+
+  @Test
+  public void testSelectedTabIsPinned() {
+    tabs = $(TestBenchElement.class).id("tabs");
+    List<String> visible = getVisible();
+    assertEquals("Tab 1", visible.get(0));
+
+    select("select-last", "Tab 200");
+
+    // the selected tab is moved out of the overflow menu, after the tabs that still fit
+    List<String> pinned = getVisible();
+    List<String> overflowed = getOverflowed();
+    assertEquals("Tab 200", pinned.get(pinned.size() - 1));
+    assertTrue(visible.containsAll(pinned.subList(0, pinned.size() - 1)));
+    assertTrue(!overflowed.contains("Tab 200"));
+    assertEquals(200, pinned.size() + overflowed.size());
+    assertTrue(fits());
+
+    // the displaced tabs are listed first in the overflow menu, in their original order
+    assertEquals(visible.get(pinned.size() - 1), overflowed.get(0));
+
+    select("select-first", "Tab 1");
+
+    // the original order is restored
+    assertEquals(visible, getVisible());
+    assertEquals("Tab 200", getOverflowed().get(getOverflowed().size() - 1));
+  }
+
+  @Test
+  public void testPinningForcesBoundedLayouts() {
+    tabs = $(TestBenchElement.class).id("tabs");
+    int unpinned = countForcedLayouts(tabs);
+
+    select("select-last", "Tab 200");
+    int pinned = countForcedLayouts(tabs);
+
+    // the layouts forced by the pinning don't depend on how deep the selected tab is
+    assertTrue(
+        "Pinning forced " + pinned + " layouts, against " + unpinned + " without pinning",
+        pinned - unpinned <= MAX_PINNING_LAYOUTS);
+    assertEquals("Tab 200", getVisible().get(getVisible().size() - 1));
+  }
+}
@@ -0,0 +1,49 @@
+/*-
+ * #%L
+ * Enhanced Tabs Add-on
+ * %%
+ * Copyright (C) 2023-2026 Flowing Code
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package com.flowingcode.vaadin.addons.enhancedtabs.integration;
+
+import com.flowingcode.vaadin.addons.enhancedtabs.EnhancedTabs;
+import com.vaadin.flow.component.html.Div;
+import com.vaadin.flow.component.html.NativeButton;
+import com.vaadin.flow.component.tabs.Tab;
+import com.vaadin.flow.router.Route;
+
+@SuppressWarnings("serial")
+@Route("it/overflow")
+public class OverflowView extends Div {
+
+  public OverflowView() {
+    EnhancedTabs tabs = new EnhancedTabs();
+    tabs.setId("tabs");
+    tabs.setWidth("600px");
+    for (int i = 1; i <= 200; i++) {
+      tabs.add(new Tab("Tab " + i));
+    }
+
+    NativeButton selectLast =
+        new NativeButton("Select last", ev -> tabs.setSelectedIndex(tabs.getTabCount() - 1));
+    selectLast.setId("select-last");
+
+    NativeButton selectFirst = new NativeButton("Select first", ev -> tabs.setSelectedIndex(0));
+    selectFirst.setId("select-first");
+
+    add(tabs, selectLast, selectFirst);
+  }
+}
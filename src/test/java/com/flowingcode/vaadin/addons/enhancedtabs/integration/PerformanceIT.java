@@ -0,0 +1,200 @@
+/*-
+ * #%L
+ * Enhanced Tabs Add-on
+ * %%
+ * Copyright (C) 2023-2026 Flowing Code
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package com.flowingcode.vaadin.addons.enhancedtabs.integration;
+
+import static org.junit.Assert.assertTrue;
+
+import com.vaadin.testbench.TestBenchElement;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+import org.junit.Test;
+
+/**
+ * Measures in the browser the duration of the overflow detection, of opening the overflow menu and
+ * of selecting a tab, for growing tab counts and widths. The number of long tasks, and the number
+ * of layouts forced by the overflow detection with and without pinning the last tab, are recorded
+ * as well.
+ *
+ * <p>The layouts forced by pinning the last tab, beyond those of the detection without pinning,
+ * must not exceed {@value #MAX_PINNING_LAYOUTS} for any tab count. This bound does not depend on
+ * the machine, and it is always checked.
+ *
+ * <p>The other measurements are compared against the baselines in {@code
+ * performance-baselines.properties}, and written to {@code target/performance-results.properties}
+ * (which has the same format, so that it can be used for updating the baselines). A measurement
+ * that exceeds its baseline by more than {@value #TOLERANCE} times is a regression. Since the
+ * durations depend on the machine, regressions only fail the test in the {@code performance}
+ * profile, which is meant to be run on the machine where the baselines were recorded.
+ */
+public class PerformanceIT extends AbstractViewTest {
+
+  private static final double TOLERANCE = 2.0;
+
+  private static final int MAX_PINNING_LAYOUTS = 3;
+
+  private static final boolean ENFORCE = Boolean.getBoolean("performance.enforce");
+
+  private static final int[] COUNTS = {10, 100, 1000};
+
+  private static final int[] WIDTHS = {400, 1200};
+
+  private static final String OBSERVE_LONG_TASKS =
+      "window.fcLongTasks = 0;"
+          + "new PerformanceObserver(list => window.fcLongTasks += list.getEntries().length)"
+          + ".observe({entryTypes: ['longtask']});";
+
+  private static final String MEASURE_DETECT_OVERFLOW =
+      "let tabs = arguments[0];"
+          + "let start = performance.now();"
+          + "for (let i = 0; i < 10; i++) tabs.__detectOverflow();"
+          + "return (performance.now() - start) / 10;";
+
+  private static final String MEASURE_OPEN_OVERFLOW =
+      "let tabs = arguments[0]; let done = arguments[arguments.length - 1];"
+          + "let overflow = tabs._overflow || tabs._buttons[tabs._buttons.length - 1];"
+          + "if (overflow.hasAttribute('hidden') || !overflow.item.children.length) { done(-1); return; }"
+          + "let start = performance.now();"
+          + "let listener = ev => {"
+          + "  if (!ev.detail.value) return;"
+          + "  tabs._subMenu.removeEventListener('opened-changed', listener);"
+          + "  requestAnimationFrame(() => requestAnimationFrame(() => {"
+          + "    let elapsed = performance.now() - start; tabs._subMenu.close(); done(elapsed);"
+          + "  }));"
+          + "};"
+          + "tabs._subMenu.addEventListener('opened-changed', listener);"
+          + "overflow.click();";
+
+  private static final String MEASURE_SELECTION =
+      "let tabs = arguments[0]; let done = arguments[arguments.length - 1];"
+          + "let buttons = tabs._buttons.filter(b => b.item && b.item.component && !b.style.visibility);"
+          + "let tab = buttons[buttons.length - 1].querySelector('vaadin-tab');"
+          + "let start = performance.now();"
+          + "new MutationObserver((records, observer) => {"
+          + "  if (tab.hasAttribute('selected')) {"
+          + "    observer.disconnect();"
+          + "    requestAnimationFrame(() => done(performance.now() - start));"
+          + "  }"
+          + "}).observe(tab, {attributes: true});"
+          + "tab.click();";
+
+  // selects the first or the last tab on the client only, as a click would
+  private static final String SELECT_CLIENT_TAB =
+      "let tabs = arguments[0];"
+          + "let item = arguments[1] ? tabs.items[tabs.items.length - 1] : tabs.items[0];"
+          + "tabs._fcSelectClientTab(item.component.querySelector('vaadin-tab'));";
+
+  private final Properties baselines = new Properties();
+
+  private final Properties results = new Properties();
+
+  private final List<String> regressions = new ArrayList<>();
+
+  private final List<String> layoutViolations = new ArrayList<>();
+
+  public PerformanceIT() {
+    super("it/performance");
+  }
+
+  private void loadBaselines() throws IOException {
+    try (InputStream in = getClass().getResourceAsStream("performance-baselines.properties")) {
+      if (in != null) {
+        baselines.load(in);
+      }
+    }
+  }
+
+  private void saveResults() throws IOException {
+    File file = new File("target/performance-results.properties");
+    file.getParentFile().mkdirs();
+    try (OutputStream out = new FileOutputStream(file)) {
+      results.store(out, "EnhancedTabs performance measurements");
+    }
+  }
+
+  private void record(String key, double value) {
+    results.setProperty(key, String.format(Locale.ROOT, "%.2f", value));
+    String baseline = baselines.getProperty(key);
+    if (baseline != null && value > Double.parseDouble(baseline) * TOLERANCE) {
+      regressions.add(key + ": " + value + " (baseline " + baseline + ")");
+    }
+  }
+
+  private TestBenchElement openView(int count, int width) {
+    open("it/performance?count=" + count + "&width=" + width);
+    TestBenchElement tabs = $(TestBenchElement.class).id("tabs");
+    waitUntil(
+        driver -> (Boolean) executeScript("return !!arguments[0]._fcOverflowItems", tabs));
+    executeScript(OBSERVE_LONG_TASKS);
+    return tabs;
+  }
+
+  @Test
+  public void testPerformance() throws IOException {
+    getDriver().manage().timeouts().setScriptTimeout(30, TimeUnit.SECONDS);
+    loadBaselines();
+
+    for (int count : COUNTS) {
+      for (int width : WIDTHS) {
+        String suffix = "." + count + "." + width;
+        TestBenchElement tabs = openView(count, width);
+
+        Number overflow = (Number) executeScript(MEASURE_DETECT_OVERFLOW, tabs);
+        record("detectOverflow.ms" + suffix, overflow.doubleValue());
+
+        Number open = (Number) executeAsyncScript(MEASURE_OPEN_OVERFLOW, tabs);
+        if (open.doubleValue() >= 0) {
+          record("openOverflow.ms" + suffix, open.doubleValue());
+        }
+
+        Number select = (Number) executeAsyncScript(MEASURE_SELECTION, tabs);
+        record("select.ms" + suffix, select.doubleValue());
+
+        Number longTasks = (Number) executeScript("return window.fcLongTasks");
+        record("longTasks" + suffix, longTasks.doubleValue());
+
+        executeScript(SELECT_CLIENT_TAB, tabs, false);
+        int unpinned = countForcedLayouts(tabs);
+        executeScript(SELECT_CLIENT_TAB, tabs, true);
+        int pinned = countForcedLayouts(tabs);
+        record("layouts" + suffix, unpinned);
+        record("pinningLayouts" + suffix, pinned - unpinned);
+        if (pinned - unpinned > MAX_PINNING_LAYOUTS) {
+          layoutViolations.add(suffix.substring(1) + ": " + (pinned - unpinned));
+        }
+      }
+    }
+
+    saveResults();
+    assertTrue(
+        "Pinning forced more than " + MAX_PINNING_LAYOUTS + " layouts: " + layoutViolations,
+        layoutViolations.isEmpty());
+    if (ENFORCE) {
+      assertTrue("Performance regressions: " + regressions, regressions.isEmpty());
+    }
+  }
+}
@@ -0,0 +1,60 @@
+/*-
+ * #%L
+ * Enhanced Tabs Add-on
+ * %%
+ * Copyright (C) 2023-2026 Flowing Code
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package com.flowingcode.vaadin.addons.enhancedtabs.integration;
+
+import com.flowingcode.vaadin.addons.enhancedtabs.EnhancedTabs;
+import com.vaadin.flow.component.html.Div;
+import com.vaadin.flow.component.tabs.Tab;
+import com.vaadin.flow.router.BeforeEnterEvent;
+import com.vaadin.flow.router.BeforeEnterObserver;
+import com.vaadin.flow.router.Route;
+import java.util.List;
+import java.util.Map;
+
+/** A view with {@code count} tabs in a component that is {@code width} pixels wide. */
+@SuppressWarnings("serial")
+@Route("it/performance")
+public class PerformanceView extends Div implements BeforeEnterObserver {
+
+  @Override
+  public void beforeEnter(BeforeEnterEvent event) {
+    Map<String, List<String>> parameters =
+        event.getLocation().getQueryParameters().getParameters();
+    int count = getParameter(parameters, "count", 100);
+    int width = getParameter(parameters, "width", 600);
+
+    Tab[] tabs = new Tab[count];
+    for (int i = 0; i < count; i++) {
+      tabs[i] = new Tab("Tab " + (i + 1));
+    }
+
+    EnhancedTabs enhancedTabs = new EnhancedTabs(tabs);
+    enhancedTabs.setId("tabs");
+    enhancedTabs.setWidth(width + "px");
+
+    removeAll();
+    add(enhancedTabs);
+  }
+
+  private static int getParameter(Map<String, List<String>> parameters, String name, int def) {
+    List<String> values = parameters.get(name);
+    return values == null || values.isEmpty() ? def : Integer.parseInt(values.get(0));
+  }
+}
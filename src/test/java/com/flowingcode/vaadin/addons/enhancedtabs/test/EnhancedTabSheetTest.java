@@ -0,0 +1,113 @@
+/*-
+ * #%L
+ * Enhanced Tabs Add-on
+ * %%
+ * Copyright (C) 2023-2026 Flowing Code
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package com.flowingcode.vaadin.addons.enhancedtabs.test;
+
+import com.flowingcode.vaadin.addons.enhancedtabs.EnhancedTabSheet;
+import com.flowingcode.vaadin.addons.enhancedtabs.EnhancedTabs;
+import com.vaadin.flow.component.html.Span;
+import com.vaadin.flow.component.tabs.Tab;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+public class EnhancedTabSheetTest {
+
+  private EnhancedTabSheet sheet;
+  private EnhancedTabs tabs;
+  private final AtomicInteger created = new AtomicInteger();
+  private Tab a;
+  private Tab b;
+  private Tab c;
+
+  @Before
+  public void before() {
+    sheet = new EnhancedTabSheet();
+    sheet.setCacheSize(2);
+    tabs = sheet.getTabs();
+    a = add("a");
+    b = add("b");
+    c = add("c");
+    created.set(0);
+  }
+
+  private Tab add(String label) {
+    return sheet.add(label, () -> new Span(label + created.incrementAndGet()));
+  }
+
+  @Test
+  public void testContentIsCreatedOnce() {
+    Assert.assertTrue("the first tab is autoselected", sheet.isContentCached(a));
+    tabs.setSelectedTab(b);
+    tabs.setSelectedTab(a);
+    tabs.setSelectedTab(b);
+    Assert.assertEquals(1, created.get());
+  }
+
+  @Test
+  public void testLeastRecentlySelectedIsEvicted() {
+    tabs.setSelectedTab(b);
+    tabs.setSelectedTab(a);
+    tabs.setSelectedTab(c);
+    Assert.assertTrue(sheet.isContentCached(a));
+    Assert.assertFalse(sheet.isContentCached(b));
+    Assert.assertTrue(sheet.isContentCached(c));
+
+    // the content of an evicted tab is created again
+    tabs.setSelectedTab(b);
+    Assert.assertEquals(3, created.get());
+    Assert.assertFalse(sheet.isContentCached(a));
+  }
+
+  @Test
+  public void testSelectedTabIsNeverEvicted() {
+    tabs.setSelectedTab(b);
+    tabs.setSelectedTab(a);
+    sheet.setCacheSize(1);
+    Assert.assertTrue(sheet.isContentCached(a));
+    Assert.assertFalse(sheet.isContentCached(b));
+  }
+
+  @Test
+  public void testRemove() {
+    tabs.setSelectedTab(b);
+    sheet.remove(b);
+    Assert.assertFalse(sheet.isContentCached(b));
+  }
+
+  @Test
+  public void testRemoveThroughTabs() {
+    tabs.setSelectedTab(b);
+    tabs.remove(a, b);
+    Assert.assertFalse(sheet.isContentCached(a));
+    Assert.assertFalse(sheet.isContentCached(b));
+
+    // the supplier was dropped as well
+    tabs.add(b);
+    tabs.setSelectedTab(b);
+    Assert.assertFalse(sheet.isContentCached(b));
+  }
+
+  @Test
+  public void testRemoveAllThroughTabs() {
+    tabs.removeAll();
+    Assert.assertFalse(sheet.isContentCached(a));
+  }
+}
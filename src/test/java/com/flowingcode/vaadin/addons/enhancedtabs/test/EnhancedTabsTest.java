@@ -0,0 +1,664 @@
+/*-
+ * #%L
+ * Enhanced Tabs Add-on
+ * %%
+ * Copyright (C) 2023-2026 Flowing Code
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package com.flowingcode.vaadin.addons.enhancedtabs.test;
+
+import com.flowingcode.vaadin.addons.enhancedtabs.EnhancedTabs;
+import com.flowingcode.vaadin.addons.enhancedtabs.InMemoryEnhancedTabsMetrics;
+import com.vaadin.flow.component.ComponentUtil;
+import com.vaadin.flow.component.UI;
+import com.vaadin.flow.component.html.Div;
+import com.vaadin.flow.component.html.Span;
+import com.vaadin.flow.component.tabs.Tab;
+import com.vaadin.flow.dom.Element;
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+public class EnhancedTabsTest {
+
+  private EnhancedTabs tabs;
+  private Tab a;
+  private Tab b;
+  private Tab c;
+
+  @Before
+  public void before() {
+    a = new Tab("a");
+    b = new Tab("b");
+    c = new Tab("c");
+    tabs = new EnhancedTabs(a, b, c);
+  }
+
+  private String order() {
+    return tabs.getTabs().map(Tab::getLabel).collect(Collectors.joining());
+  }
+
+  private static Element itemOf(Tab tab) {
+    return tab.getElement().getParent();
+  }
+
+  @Test
+  public void testIndex() {
+    Assert.assertEquals(3, tabs.getTabCount());
+    Assert.assertEquals(0, tabs.indexOf(a));
+    Assert.assertEquals(2, tabs.indexOf(c));
+    Assert.assertSame(b, tabs.getTabAt(1));
+    Assert.assertEquals(-1, tabs.indexOf(new Tab("d")));
+  }
+
+  @Test
+  public void testIndexAfterElementDetach() {
+    b.getElement().removeFromParent();
+    Assert.assertEquals(-1, tabs.indexOf(b));
+    Assert.assertEquals(2, tabs.getTabCount());
+    Assert.assertSame(c, tabs.getTabAt(1));
+    Assert.assertEquals(1, tabs.indexOf(c));
+  }
+
+  @Test
+  public void testTabCountAfterElementDetachOfMiddleTab() {
+    b.getElement().removeFromParent();
+    // only the last position is validated by the count
+    Assert.assertEquals(3, tabs.getTabCount());
+    Assert.assertEquals("ac", order());
+    Assert.assertEquals(2, tabs.getTabCount());
+  }
+
+  @Test
+  public void testIndexAfterElementReorder() {
+    Element itemA = itemOf(a);
+    Element itemC = itemOf(c);
+    itemA.appendChild(c.getElement());
+    itemC.appendChild(a.getElement());
+    Assert.assertSame(c, tabs.getTabAt(0));
+    Assert.assertEquals(2, tabs.indexOf(a));
+    Assert.assertEquals("cba", order());
+  }
+
+  @Test
+  public void testIndexAfterElementInsert() {
+    Tab d = new Tab("d");
+    itemOf(b).insertChild(0, d.getElement());
+    Assert.assertEquals(1, tabs.indexOf(d));
+    Assert.assertSame(d, tabs.getTabAt(1));
+    Assert.assertEquals(3, tabs.getTabCount());
+  }
+
+  @Test
+  public void testTabCountAfterElementDetachOfLastTab() {
+    c.getElement().removeFromParent();
+    Assert.assertEquals(2, tabs.getTabCount());
+    Assert.assertEquals("ab", order());
+  }
+
+  private AtomicInteger countSelectedChangeEvents() {
+    AtomicInteger count = new AtomicInteger();
+    tabs.addSelectedChangeListener(ev -> count.incrementAndGet());
+    return count;
+  }
+
+  @Test
+  public void testMoveTabForward() {
+    Element itemB = itemOf(b);
+    tabs.moveTab(a, 2);
+    Assert.assertEquals("bca", order());
+    Assert.assertEquals(2, tabs.indexOf(a));
+    Assert.assertEquals(0, tabs.indexOf(b));
+    Assert.assertEquals(itemB, itemOf(b));
+  }
+
+  @Test
+  public void testMoveTabBackward() {
+    Element itemA = itemOf(a);
+    tabs.moveTab(c, 0);
+    Assert.assertEquals("cab", order());
+    Assert.assertEquals(0, tabs.indexOf(c));
+    Assert.assertEquals(2, tabs.indexOf(b));
+    Assert.assertEquals(itemA, itemOf(a));
+  }
+
+  @Test
+  public void testMoveTabToSamePosition() {
+    AtomicInteger events = countSelectedChangeEvents();
+    Element itemB = itemOf(b);
+    tabs.moveTab(b, 1);
+    Assert.assertEquals("abc", order());
+    Assert.assertEquals(itemB, itemOf(b));
+    Assert.assertEquals(0, events.get());
+  }
+
+  @Test
+  public void testMoveSelectedTab() {
+    tabs.setSelectedTab(b);
+    AtomicInteger events = countSelectedChangeEvents();
+    tabs.moveTab(b, 2);
+    Assert.assertSame(b, tabs.getSelectedTab());
+    Assert.assertEquals(2, tabs.getSelectedIndex());
+    Assert.assertTrue(b.isSelected());
+    Assert.assertEquals(0, events.get());
+  }
+
+  @Test
+  public void testMoveTabAcrossSelectedTab() {
+    tabs.setSelectedTab(b);
+    AtomicInteger events = countSelectedChangeEvents();
+    tabs.moveTab(c, 0);
+    Assert.assertSame(b, tabs.getSelectedTab());
+    Assert.assertEquals(2, tabs.getSelectedIndex());
+    Assert.assertEquals(0, events.get());
+  }
+
+  // runs the given test with the fallback for menu bars that don't support moving their items
+  private static void withoutMovingMenuItems(Runnable test) throws ReflectiveOperationException {
+    Field moveMenuItems = EnhancedTabs.class.getDeclaredField("moveMenuItems");
+    moveMenuItems.setAccessible(true);
+    boolean value = moveMenuItems.getBoolean(null);
+    moveMenuItems.setBoolean(null, false);
+    try {
+      test.run();
+    } finally {
+      moveMenuItems.setBoolean(null, value);
+    }
+  }
+
+  @Test
+  public void testMoveTabWithoutMovingMenuItems() throws ReflectiveOperationException {
+    tabs.setSelectedTab(b);
+    AtomicInteger events = countSelectedChangeEvents();
+    Element itemA = itemOf(a);
+    withoutMovingMenuItems(() -> tabs.moveTab(c, 0));
+    Assert.assertEquals("cab", order());
+    Assert.assertEquals(0, tabs.indexOf(c));
+    Assert.assertEquals(itemA, itemOf(c));
+    Assert.assertSame(b, tabs.getSelectedTab());
+    Assert.assertEquals(2, tabs.getSelectedIndex());
+    Assert.assertTrue(b.isSelected());
+    Assert.assertEquals(0, events.get());
+  }
+
+  @Test
+  public void testUpdateTabLabel() {
+    tabs.updateTabLabel(a, "x");
+    tabs.updateTabBadge(a, "3");
+    new UI().add(tabs);
+    Assert.assertEquals("x", a.getLabel());
+    Assert.assertEquals("x3", a.getElement().getTextRecursively());
+  }
+
+  @Test
+  public void testUpdateTabLabelHeldBySpan() {
+    Span label = new Span("d");
+    Tab d = new Tab(new Div(), label);
+    tabs.add(d);
+    tabs.updateTabBadge(d, "3");
+    tabs.updateTabLabel(d, "x");
+    new UI().add(tabs);
+    Assert.assertEquals("x", label.getText());
+    Assert.assertEquals("x3", d.getElement().getTextRecursively());
+  }
+
+  @Test
+  public void testUpdateTabBadge() {
+    UI ui = new UI();
+    tabs.updateTabBadge(a, "3");
+    ui.add(tabs);
+    ui.remove(tabs);
+    tabs.updateTabBadge(a, null);
+    ui.add(tabs);
+    Assert.assertEquals("a", a.getElement().getTextRecursively());
+  }
+
+  @Test
+  public void testSelectNextEnabled() {
+    tabs.setTabEnabled(b, false);
+    Assert.assertTrue(tabs.selectNextEnabled());
+    Assert.assertSame(c, tabs.getSelectedTab());
+    Assert.assertFalse(tabs.selectNextEnabled());
+    Assert.assertTrue(tabs.selectPreviousEnabled());
+    Assert.assertSame(a, tabs.getSelectedTab());
+  }
+
+  @Test
+  public void testTabDisabledDirectly() {
+    b.setEnabled(false);
+    tabs.selectNextEnabled();
+    Assert.assertSame(c, tabs.getSelectedTab());
+  }
+
+  @Test
+  public void testTabEnabledAgain() {
+    tabs.setTabEnabled(b, false);
+    tabs.selectNextEnabled();
+    Assert.assertSame(c, tabs.getSelectedTab());
+
+    tabs.setTabEnabled(b, true);
+    Assert.assertTrue(tabs.selectPreviousEnabled());
+    Assert.assertSame(b, tabs.getSelectedTab());
+  }
+
+  @Test
+  public void testTabEnabledAgainDirectlyIsSelectable() {
+    tabs.setTabEnabled(b, false);
+    b.setEnabled(true);
+    tabs.setSelectedTab(b);
+    Assert.assertSame(b, tabs.getSelectedTab());
+
+    // selecting the tab cleared its bit
+    tabs.setSelectedTab(c);
+    Assert.assertTrue(tabs.selectPreviousEnabled());
+    Assert.assertSame(b, tabs.getSelectedTab());
+  }
+
+  @Test
+  public void testRemoveSelectedSelectsNearestEnabled() {
+    tabs.setTabEnabled(b, false);
+    tabs.remove(a);
+    Assert.assertSame(c, tabs.getSelectedTab());
+    tabs.remove(c);
+    Assert.assertNull(tabs.getSelectedTab());
+  }
+
+  @Test
+  public void testSetTabsShrinking() {
+    AtomicInteger events = countSelectedChangeEvents();
+    tabs.setTabs(Arrays.asList(a, c));
+    Assert.assertEquals("ac", order());
+    Assert.assertEquals(-1, tabs.indexOf(b));
+    Assert.assertSame(a, tabs.getSelectedTab());
+    Assert.assertEquals(0, events.get());
+  }
+
+  @Test
+  public void testSetTabsGrowing() {
+    AtomicInteger events = countSelectedChangeEvents();
+    Tab d = new Tab("d");
+    tabs.setTabs(Arrays.asList(a, b, c, d));
+    Assert.assertEquals("abcd", order());
+    Assert.assertEquals(3, tabs.indexOf(d));
+    Assert.assertSame(a, tabs.getSelectedTab());
+    Assert.assertEquals(0, events.get());
+  }
+
+  @Test
+  public void testSetTabsReordering() {
+    tabs.setSelectedTab(b);
+    AtomicInteger events = countSelectedChangeEvents();
+    tabs.setTabs(Arrays.asList(c, a, b));
+    Assert.assertEquals("cab", order());
+    Assert.assertEquals(2, tabs.getSelectedIndex());
+    Assert.assertSame(b, tabs.getSelectedTab());
+    Assert.assertTrue(b.isSelected());
+    Assert.assertEquals(0, events.get());
+  }
+
+  @Test
+  public void testSetTabsKeepingSelectedTab() {
+    tabs.setSelectedTab(b);
+    AtomicInteger events = countSelectedChangeEvents();
+    tabs.setTabs(Collections.singletonList(b));
+    Assert.assertEquals("b", order());
+    Assert.assertSame(b, tabs.getSelectedTab());
+    Assert.assertEquals(0, events.get());
+  }
+
+  @Test
+  public void testSetTabsDroppingSelectedTab() {
+    tabs.setSelectedTab(b);
+    AtomicInteger events = countSelectedChangeEvents();
+    tabs.setTabs(Arrays.asList(a, c));
+    Assert.assertSame(c, tabs.getSelectedTab());
+    Assert.assertTrue(c.isSelected());
+    Assert.assertFalse(b.isSelected());
+    Assert.assertEquals(1, events.get());
+  }
+
+  @Test
+  public void testSetTabsEmpty() {
+    AtomicInteger events = countSelectedChangeEvents();
+    tabs.setTabs(Collections.emptyList());
+    Assert.assertEquals(0, tabs.getTabCount());
+    Assert.assertNull(tabs.getSelectedTab());
+    Assert.assertEquals(1, events.get());
+  }
+
+  @Test
+  public void testSetTabsOnEmptyComponent() {
+    tabs = new EnhancedTabs();
+    AtomicInteger events = countSelectedChangeEvents();
+    Tab d = new Tab("d");
+    tabs.setTabs(Arrays.asList(d, new Tab("e")));
+    Assert.assertSame(d, tabs.getSelectedTab());
+    Assert.assertEquals(1, events.get());
+  }
+
+  @Test
+  public void testSetTabsInsertingAtFront() {
+    Element itemA = itemOf(a);
+    Element itemB = itemOf(b);
+    Element itemC = itemOf(c);
+    Tab d = new Tab("d");
+    tabs.setTabs(Arrays.asList(d, a, b, c));
+    Assert.assertEquals("dabc", order());
+    Assert.assertEquals(0, tabs.indexOf(d));
+    Assert.assertEquals(3, tabs.indexOf(c));
+    Assert.assertSame(a, tabs.getSelectedTab());
+    Assert.assertEquals(1, tabs.getSelectedIndex());
+
+    // the other tabs stay in their menu items
+    Assert.assertEquals(itemA, itemOf(a));
+    Assert.assertEquals(itemB, itemOf(b));
+    Assert.assertEquals(itemC, itemOf(c));
+  }
+
+  @Test
+  public void testSetTabsMovingOneTab() {
+    Element itemB = itemOf(b);
+    Element itemC = itemOf(c);
+    tabs.setTabs(Arrays.asList(b, c, a));
+    Assert.assertEquals("bca", order());
+    Assert.assertEquals(itemB, itemOf(b));
+    Assert.assertEquals(itemC, itemOf(c));
+  }
+
+  @Test
+  public void testSetTabsReplacingAndReordering() {
+    Tab d = new Tab("d");
+    tabs.setTabs(Arrays.asList(c, d, a));
+    Assert.assertEquals("cda", order());
+    Assert.assertEquals(-1, tabs.indexOf(b));
+    Assert.assertEquals(1, tabs.indexOf(d));
+    Assert.assertSame(a, tabs.getSelectedTab());
+    Assert.assertEquals(2, tabs.getSelectedIndex());
+  }
+
+  @Test
+  public void testSetTabsWithoutMovingMenuItems() throws ReflectiveOperationException {
+    Tab d = new Tab("d");
+    withoutMovingMenuItems(() -> tabs.setTabs(Arrays.asList(c, d, a)));
+    Assert.assertEquals("cda", order());
+    Assert.assertEquals(1, tabs.indexOf(d));
+    Assert.assertSame(a, tabs.getSelectedTab());
+    Assert.assertEquals(2, tabs.getSelectedIndex());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testSetTabsWithDuplicates() {
+    tabs.setTabs(Arrays.asList(a, a));
+  }
+
+  @Test
+  public void testRemoveRange() {
+    Tab d = new Tab("d");
+    tabs.add(d);
+    tabs.setSelectedTab(d);
+    AtomicInteger events = countSelectedChangeEvents();
+    tabs.removeRange(1, 3);
+    Assert.assertEquals("ad", order());
+    Assert.assertSame(d, tabs.getSelectedTab());
+    Assert.assertEquals(1, tabs.getSelectedIndex());
+    Assert.assertEquals(0, events.get());
+  }
+
+  @Test
+  public void testRemoveRangeWithSelectedTab() {
+    tabs.setSelectedTab(b);
+    AtomicInteger events = countSelectedChangeEvents();
+    tabs.removeRange(0, 2);
+    Assert.assertEquals("c", order());
+    Assert.assertSame(c, tabs.getSelectedTab());
+    Assert.assertEquals(1, events.get());
+  }
+
+  @Test
+  public void testRemoveEmptyRange() {
+    tabs.removeRange(1, 1);
+    Assert.assertEquals("abc", order());
+  }
+
+  @Test(expected = IndexOutOfBoundsException.class)
+  public void testRemoveInvalidRange() {
+    tabs.removeRange(2, 4);
+  }
+
+  @Test
+  public void testRemoveAllCollection() {
+    tabs.setSelectedTab(c);
+    AtomicInteger events = countSelectedChangeEvents();
+    tabs.removeAll(Arrays.asList(a, b, new Tab("d")));
+    Assert.assertEquals("c", order());
+    Assert.assertSame(c, tabs.getSelectedTab());
+    Assert.assertEquals(0, tabs.getSelectedIndex());
+    Assert.assertEquals(0, events.get());
+  }
+
+  @Test
+  public void testRemoveAllCollectionWithSelectedTab() {
+    AtomicInteger events = countSelectedChangeEvents();
+    tabs.removeAll(Arrays.asList(c, a));
+    Assert.assertEquals("b", order());
+    Assert.assertSame(b, tabs.getSelectedTab());
+    Assert.assertFalse(a.isSelected());
+    Assert.assertEquals(1, events.get());
+  }
+
+  @Test
+  public void testRemoveAllCollectionWithoutAutoselect() {
+    tabs.setAutoselect(false);
+    AtomicInteger events = countSelectedChangeEvents();
+    tabs.removeAll(Arrays.asList(a, b));
+    Assert.assertNull(tabs.getSelectedTab());
+    Assert.assertEquals(1, events.get());
+  }
+
+  @Test
+  public void testPreselectedTabIsDeselected() {
+    Tab d = new Tab("d");
+    d.setSelected(true);
+    tabs.add(d);
+    Assert.assertSame(a, tabs.getSelectedTab());
+    Assert.assertFalse(d.isSelected());
+
+    tabs.setSelectedTab(b);
+    Assert.assertEquals(
+        "b", tabs.getTabs().filter(Tab::isSelected).map(Tab::getLabel).collect(Collectors.joining()));
+  }
+
+  @Test
+  public void testPreselectedTabIsAutoselected() {
+    tabs = new EnhancedTabs();
+    Tab d = new Tab("d");
+    Tab e = new Tab("e");
+    d.setSelected(true);
+    e.setSelected(true);
+    tabs.add(d, e);
+    Assert.assertSame(d, tabs.getSelectedTab());
+    Assert.assertTrue(d.isSelected());
+    Assert.assertFalse(e.isSelected());
+  }
+
+  private void openGroup(Tab group) {
+    ComponentUtil.fireEvent(tabs, new EnhancedTabs.GroupOpenEvent(tabs, true, tabs.indexOf(group)));
+  }
+
+  @Test
+  public void testGroupIsPopulatedWhenOpened() {
+    Tab g = new Tab("g");
+    Tab x = new Tab("x");
+    Tab y = new Tab("y");
+    AtomicInteger calls = new AtomicInteger();
+    tabs.addGroup(
+        g,
+        () -> {
+          calls.incrementAndGet();
+          return Arrays.asList(x, y);
+        });
+    Assert.assertEquals(3, tabs.indexOf(g));
+    Assert.assertTrue(tabs.getGroupChildren(g).isEmpty());
+    Assert.assertEquals(0, calls.get());
+
+    openGroup(g);
+    openGroup(g);
+    Assert.assertEquals(Arrays.asList(x, y), tabs.getGroupChildren(g));
+    Assert.assertEquals(1, calls.get());
+  }
+
+  @Test
+  public void testGroupSupplierReturningNull() {
+    Tab g = new Tab("g");
+    tabs.addGroup(g, () -> null);
+    openGroup(g);
+    Assert.assertTrue(tabs.getGroupChildren(g).isEmpty());
+  }
+
+  private Tab addOpenedGroup(Tab... children) {
+    Tab g = new Tab("g");
+    tabs.addGroup(g, () -> Arrays.asList(children));
+    openGroup(g);
+    return g;
+  }
+
+  @Test
+  public void testSelectChild() {
+    Tab x = new Tab("x");
+    Tab y = new Tab("y");
+    Tab g = addOpenedGroup(x, y);
+    AtomicInteger events = countSelectedChangeEvents();
+
+    tabs.setSelectedTab(x);
+    Assert.assertSame(g, tabs.getSelectedTab());
+    Assert.assertSame(x, tabs.getSelectedChildTab());
+    Assert.assertTrue(x.isSelected());
+    Assert.assertEquals(1, events.get());
+
+    // another child of the selected group
+    tabs.setSelectedTab(y);
+    Assert.assertSame(g, tabs.getSelectedTab());
+    Assert.assertSame(y, tabs.getSelectedChildTab());
+    Assert.assertFalse(x.isSelected());
+    Assert.assertEquals(2, events.get());
+
+    tabs.setSelectedTab(a);
+    Assert.assertNull(tabs.getSelectedChildTab());
+    Assert.assertFalse(y.isSelected());
+    Assert.assertEquals(3, events.get());
+  }
+
+  @Test
+  public void testRemoveAllClearsSelectedChild() {
+    Tab x = new Tab("x");
+    addOpenedGroup(x);
+    tabs.setSelectedTab(x);
+    tabs.removeAll();
+    Assert.assertNull(tabs.getSelectedTab());
+    Assert.assertNull(tabs.getSelectedChildTab());
+    Assert.assertFalse(x.isSelected());
+  }
+
+  @Test
+  public void testRemoveSelectedGroupWithoutAutoselect() {
+    tabs.setAutoselect(false);
+    Tab x = new Tab("x");
+    Tab g = addOpenedGroup(x);
+    tabs.setSelectedTab(x);
+    tabs.remove(g);
+    Assert.assertNull(tabs.getSelectedTab());
+    Assert.assertNull(tabs.getSelectedChildTab());
+    Assert.assertFalse(x.isSelected());
+  }
+
+  @Test
+  public void testMetrics() {
+    InMemoryEnhancedTabsMetrics metrics = new InMemoryEnhancedTabsMetrics();
+    EnhancedTabs other = new EnhancedTabs(new Tab("x"));
+    tabs.setMetrics(metrics);
+    other.setMetrics(metrics);
+
+    UI ui = new UI();
+    ui.add(tabs, other);
+    ui.getInternals().getStateTree().runExecutionsBeforeClientResponse();
+    InMemoryEnhancedTabsMetrics.Stats stats = metrics.getStats(tabs);
+    Assert.assertEquals(1, stats.getJavaScriptExecutions("initLazy"));
+    Assert.assertEquals(1, stats.getJavaScriptExecutions("initTabs"));
+    Assert.assertEquals(0, stats.getJavaScriptExecutions("detectOverflow"));
+    Assert.assertEquals(2, stats.getJavaScriptExecutions());
+    Assert.assertEquals(2, metrics.getAggregatedStats().getJavaScriptExecutions("initLazy"));
+
+    tabs.setSelectedTab(b);
+    ui.getInternals().getStateTree().runExecutionsBeforeClientResponse();
+    Assert.assertEquals(1, stats.getSelectionChanges());
+    Assert.assertEquals(1, stats.getSelectionUpdates());
+    Assert.assertEquals(1, stats.getJavaScriptExecutions("detectOverflow"));
+    Assert.assertEquals(0, metrics.getStats(other).getSelectionChanges());
+    Assert.assertEquals(1, metrics.getAggregatedStats().getSelectionChanges());
+
+    // the client reports cumulative values
+    ComponentUtil.fireEvent(tabs, new EnhancedTabs.OverflowReportEvent(tabs, true, 3, 1.5));
+    ComponentUtil.fireEvent(tabs, new EnhancedTabs.OverflowReportEvent(tabs, true, 5, 2.5));
+    Assert.assertEquals(5, stats.getOverflowDetections());
+    Assert.assertEquals(2.5, stats.getOverflowMillis(), 1e-9);
+    Assert.assertEquals(5, metrics.getAggregatedStats().getOverflowDetections());
+  }
+
+  @Test
+  public void testVetoedSelectionFromClient() {
+    InMemoryEnhancedTabsMetrics metrics = new InMemoryEnhancedTabsMetrics();
+    tabs.setMetrics(metrics);
+    tabs.setOptimisticSelection(true);
+    UI ui = new UI();
+    ui.add(tabs);
+    ui.getInternals().getStateTree().runExecutionsBeforeClientResponse();
+
+    AtomicInteger events = countSelectedChangeEvents();
+    List<Tab> requested = new ArrayList<>();
+    tabs.addBeforeSelectedChangeListener(
+        ev -> {
+          requested.add(ev.getTab());
+          if (ev.getTab() == c) {
+            ev.veto();
+          }
+        });
+
+    tabs.setSelectedTab(c, true);
+    Assert.assertSame(a, tabs.getSelectedTab());
+    Assert.assertTrue(a.isSelected());
+    Assert.assertFalse(c.isSelected());
+    Assert.assertEquals(0, events.get());
+
+    // the client-side selection is reverted
+    ui.getInternals().getStateTree().runExecutionsBeforeClientResponse();
+    Assert.assertEquals(1, metrics.getStats(tabs).getJavaScriptExecutions("syncSelection"));
+
+    tabs.setSelectedTab(b, true);
+    Assert.assertSame(b, tabs.getSelectedTab());
+    Assert.assertEquals(1, events.get());
+
+    // the selections from the server are not vetoed
+    tabs.setSelectedTab(c);
+    Assert.assertSame(c, tabs.getSelectedTab());
+    Assert.assertEquals(Arrays.asList(c, b), requested);
+  }
+}
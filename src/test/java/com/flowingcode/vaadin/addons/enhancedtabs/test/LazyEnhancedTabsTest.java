@@ -0,0 +1,135 @@
+/*-
+ * #%L
+ * Enhanced Tabs Add-on
+ * %%
+ * Copyright (C) 2023-2026 Flowing Code
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package com.flowingcode.vaadin.addons.enhancedtabs.test;
+
+import com.flowingcode.vaadin.addons.enhancedtabs.LazyEnhancedTabs;
+import com.vaadin.flow.component.UI;
+import com.vaadin.flow.data.provider.DataProvider;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+public class LazyEnhancedTabsTest {
+
+  private static final int SIZE = 200;
+
+  private final AtomicInteger fetched = new AtomicInteger();
+
+  private DataProvider<Integer, Void> dataProvider;
+
+  private LazyEnhancedTabs<Integer> tabs;
+
+  @Before
+  public void before() {
+    dataProvider =
+        DataProvider.fromCallbacks(
+            query -> {
+              // callback providers may read the sort orders of the query
+              Assert.assertTrue(query.getSortOrders().isEmpty());
+              fetched.addAndGet(query.getLimit());
+              return IntStream.range(query.getOffset(), query.getOffset() + query.getLimit())
+                  .filter(i -> i < SIZE)
+                  .boxed();
+            },
+            query -> SIZE);
+    tabs = new LazyEnhancedTabs<>();
+    tabs.setPageSize(10);
+    tabs.setItems(dataProvider);
+    fetched.set(0);
+  }
+
+  @Test
+  public void testWindow() {
+    Assert.assertEquals(SIZE, tabs.getItemCount());
+    Assert.assertEquals(0, tabs.getWindowOffset());
+    tabs.setWindowOffset(SIZE);
+    Assert.assertEquals(SIZE - 10, tabs.getWindowOffset());
+  }
+
+  @Test
+  public void testSelectItemInWindow() {
+    tabs.setSelectedItem(5);
+    Assert.assertEquals(Integer.valueOf(5), tabs.getSelectedItem());
+    Assert.assertEquals(0, tabs.getWindowOffset());
+    Assert.assertEquals(0, fetched.get());
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void testSelectItemOutsideWindowWithoutIndex() {
+    tabs.setSelectedItem(150);
+  }
+
+  @Test
+  public void testSelectItemOutsideWindowWithIndexHint() {
+    tabs.setSelectedItem(150, 150);
+    Assert.assertEquals(Integer.valueOf(150), tabs.getSelectedItem());
+    Assert.assertEquals(145, tabs.getWindowOffset());
+    // the hint and the new window are fetched, but not the items before the window
+    Assert.assertEquals(11, fetched.get());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testSelectItemOutsideWindowWithWrongIndexHint() {
+    tabs.setSelectedItem(150, 151);
+  }
+
+  @Test
+  public void testSelectItemOutsideWindowWithIndexProvider() {
+    tabs.setItemIndexProvider(item -> item < SIZE ? item : null);
+    tabs.setSelectedItem(100);
+    Assert.assertEquals(Integer.valueOf(100), tabs.getSelectedItem());
+    Assert.assertEquals(95, tabs.getWindowOffset());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testSelectMissingItemWithIndexProvider() {
+    tabs.setItemIndexProvider(item -> item < SIZE ? item : null);
+    tabs.setSelectedItem(SIZE);
+  }
+
+  @Test
+  public void testDataProviderListenerWhileAttached() {
+    dataProvider.refreshAll();
+    Assert.assertEquals("not attached", 0, fetched.get());
+
+    UI ui = new UI();
+    ui.add(tabs);
+    Assert.assertEquals(0, fetched.get());
+
+    dataProvider.refreshAll();
+    Assert.assertEquals("attached", 10, fetched.get());
+
+    ui.remove(tabs);
+    dataProvider.refreshAll();
+    Assert.assertEquals("detached", 10, fetched.get());
+
+    ui.add(tabs);
+    Assert.assertEquals("refreshed on attach", 20, fetched.get());
+  }
+
+  @Test
+  public void testSelectionKeptOnRefresh() {
+    tabs.setSelectedItem(3);
+    tabs.refresh();
+    Assert.assertEquals(Integer.valueOf(3), tabs.getSelectedItem());
+  }
+}
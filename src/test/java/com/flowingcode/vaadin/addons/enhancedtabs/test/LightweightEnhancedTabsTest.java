@@ -0,0 +1,186 @@
+/*-
+ * #%L
+ * Enhanced Tabs Add-on
+ * %%
+ * Copyright (C) 2023-2026 Flowing Code
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package com.flowingcode.vaadin.addons.enhancedtabs.test;
+
+import com.flowingcode.vaadin.addons.enhancedtabs.LightweightEnhancedTabs;
+import com.flowingcode.vaadin.addons.enhancedtabs.LightweightEnhancedTabs.TabSelectionEvent;
+import com.flowingcode.vaadin.addons.enhancedtabs.TabDescriptor;
+import com.flowingcode.vaadin.addons.enhancedtabs.TabSetDefinition;
+import com.vaadin.flow.component.ComponentUtil;
+import elemental.json.JsonArray;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+public class LightweightEnhancedTabsTest {
+
+  private static final TabSetDefinition DEFINITION =
+      new TabSetDefinition(
+          new TabDescriptor("a", "A"), new TabDescriptor("b", "B"), new TabDescriptor("c", "C"));
+
+  private LightweightEnhancedTabs tabs;
+
+  private List<LightweightEnhancedTabs.SelectedChangeEvent> events;
+
+  @Before
+  public void before() {
+    tabs = new LightweightEnhancedTabs(DEFINITION);
+    events = new ArrayList<>();
+    tabs.addSelectedChangeListener(events::add);
+  }
+
+  private void selectFromClient(String id) {
+    ComponentUtil.fireEvent(tabs, new TabSelectionEvent(tabs, true, id));
+  }
+
+  @Test
+  public void testAutoselect() {
+    Assert.assertEquals("a", tabs.getSelectedId());
+    Assert.assertSame(DEFINITION, tabs.getDefinition());
+  }
+
+  @Test
+  public void testSelectById() {
+    tabs.setSelectedId("b");
+    Assert.assertEquals("b", tabs.getSelectedId());
+    Assert.assertEquals(1, events.size());
+    Assert.assertEquals("a", events.get(0).getPreviousTab().getId());
+    Assert.assertFalse(events.get(0).isFromClient());
+
+    tabs.setSelectedId("b");
+    Assert.assertEquals(1, events.size());
+
+    tabs.setSelectedId(null);
+    Assert.assertNull(tabs.getSelectedTab());
+    Assert.assertEquals(2, events.size());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testSelectUnknownId() {
+    tabs.setSelectedId("x");
+  }
+
+  @Test
+  public void testSelectFromClient() {
+    selectFromClient("c");
+    Assert.assertEquals("c", tabs.getSelectedId());
+    Assert.assertEquals(1, events.size());
+    Assert.assertTrue(events.get(0).isFromClient());
+  }
+
+  @Test
+  public void testDisabledSelectionFromClientIsReverted() {
+    tabs.setTabEnabled("b", false);
+    selectFromClient("b");
+    Assert.assertEquals("a", tabs.getSelectedId());
+    Assert.assertTrue(events.isEmpty());
+  }
+
+  @Test
+  public void testUnknownSelectionFromClientIsReverted() {
+    selectFromClient("x");
+    Assert.assertEquals("a", tabs.getSelectedId());
+    Assert.assertTrue(events.isEmpty());
+  }
+
+  @Test
+  public void testSetTabEnabled() {
+    Assert.assertTrue(tabs.isTabEnabled("b"));
+    tabs.setTabEnabled("b", false);
+    tabs.setTabEnabled("c", false);
+    Assert.assertFalse(tabs.isTabEnabled("b"));
+    JsonArray disabled = (JsonArray) tabs.getElement().getPropertyRaw("disabledTabs");
+    Assert.assertEquals(2, disabled.length());
+    Assert.assertEquals(1, (int) disabled.getNumber(0));
+    Assert.assertEquals(2, (int) disabled.getNumber(1));
+
+    tabs.setTabEnabled("b", true);
+    Assert.assertTrue(tabs.isTabEnabled("b"));
+    Assert.assertFalse(tabs.isTabEnabled("c"));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testSetUnknownTabEnabled() {
+    tabs.setTabEnabled("x", false);
+  }
+
+  @Test
+  public void testSetTabBadge() {
+    tabs.setTabBadge("b", "3");
+    Assert.assertEquals("3", tabs.getTabBadge("b"));
+    Assert.assertNull(tabs.getTabBadge("a"));
+    tabs.setTabBadge("b", null);
+    Assert.assertNull(tabs.getTabBadge("b"));
+  }
+
+  @Test
+  public void testSetDefinitionKeepsSelectionAndBadges() {
+    tabs.setSelectedId("b");
+    tabs.setTabBadge("a", "1");
+    tabs.setTabBadge("b", "2");
+    tabs.setTabEnabled("c", false);
+    events.clear();
+
+    tabs.setDefinition(
+        new TabSetDefinition(new TabDescriptor("b", "B"), new TabDescriptor("c", "C")));
+    Assert.assertEquals("b", tabs.getSelectedId());
+    Assert.assertTrue(events.isEmpty());
+    Assert.assertEquals("2", tabs.getTabBadge("b"));
+    Assert.assertNull(tabs.getTabBadge("a"));
+    Assert.assertTrue(tabs.isTabEnabled("c"));
+  }
+
+  @Test
+  public void testSetDefinitionWithoutSelectedTab() {
+    tabs.setSelectedId("b");
+    events.clear();
+    tabs.setDefinition(new TabSetDefinition(new TabDescriptor("c", "C")));
+    Assert.assertEquals("c", tabs.getSelectedId());
+    Assert.assertEquals(1, events.size());
+
+    tabs.setAutoselect(false);
+    tabs.setDefinition(new TabSetDefinition(new TabDescriptor("d", "D")));
+    Assert.assertNull(tabs.getSelectedTab());
+  }
+
+  @Test
+  public void testSharedDefinition() {
+    LightweightEnhancedTabs other = new LightweightEnhancedTabs(DEFINITION);
+    other.setSelectedId("c");
+    other.setTabEnabled("b", false);
+    Assert.assertEquals("a", tabs.getSelectedId());
+    Assert.assertTrue(tabs.isTabEnabled("b"));
+    Assert.assertSame(tabs.getTabs(), other.getTabs());
+  }
+
+  @Test
+  public void testDefinitionIndex() {
+    Assert.assertEquals(3, DEFINITION.size());
+    Assert.assertEquals(1, DEFINITION.indexOf("b"));
+    Assert.assertEquals(-1, DEFINITION.indexOf("x"));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testDefinitionWithDuplicateIds() {
+    new TabSetDefinition(new TabDescriptor("a", "A"), new TabDescriptor("a", "B"));
+  }
+}
@@ -20,25 +20,50 @@
 package com.flowingcode.vaadin.addons.enhancedtabs.test;
 
 import com.flowingcode.vaadin.addons.enhancedtabs.EnhancedTabs;
+import com.flowingcode.vaadin.addons.enhancedtabs.EnhancedTabsMetrics;
+import com.vaadin.flow.component.UI;
+import com.vaadin.flow.component.html.Div;
+import com.vaadin.flow.component.tabs.Tab;
+import com.vaadin.flow.server.Command;
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Future;
 import org.junit.Assert;
 import org.junit.Test;
 
 public class SerializationTest {
 
-  private void testSerializationOf(Object obj) throws IOException, ClassNotFoundException {
+  private <T> T testSerializationOf(T obj) throws IOException, ClassNotFoundException {
+    byte[] bytes = serialize(obj);
+    try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes))) {
+      @SuppressWarnings("unchecked")
+      T result = (T) obj.getClass().cast(in.readObject());
+      return result;
+    }
+  }
+
+  private static byte[] serialize(Object obj) throws IOException {
     ByteArrayOutputStream baos = new ByteArrayOutputStream();
     try (ObjectOutputStream oos = new ObjectOutputStream(baos)) {
       oos.writeObject(obj);
     }
-    try (ObjectInputStream in =
-        new ObjectInputStream(new ByteArrayInputStream(baos.toByteArray()))) {
-      obj.getClass().cast(in.readObject());
+    return baos.toByteArray();
+  }
+
+  private static EnhancedTabs createTabs(int count) {
+    EnhancedTabs tabs = new EnhancedTabs();
+    List<Tab> list = new ArrayList<>();
+    for (int i = 0; i < count; i++) {
+      list.add(new Tab("Tab " + i));
     }
+    tabs.addAll(list);
+    return tabs;
   }
 
   @Test
@@ -49,4 +74,83 @@ public class SerializationTest {
       Assert.fail("Problem while testing serialization: " + e.getMessage());
     }
   }
+
+  @Test
+  public void testRoundTrip() throws ClassNotFoundException, IOException {
+    EnhancedTabs tabs = createTabs(3);
+    tabs.setAutoselect(false);
+    tabs.setSelectedIndex(1);
+
+    EnhancedTabs copy = testSerializationOf(tabs);
+    Assert.assertEquals(3, copy.getTabCount());
+    Assert.assertFalse(copy.isAutoselect());
+    Assert.assertEquals(1, copy.getSelectedIndex());
+    Assert.assertSame(copy.getTabAt(1), copy.getSelectedTab());
+    Assert.assertEquals(2, copy.indexOf(copy.getTabAt(2)));
+
+    // the selected tab is restored, so that it is deselected when the selection changes
+    copy.setSelectedIndex(2);
+    Assert.assertFalse(copy.getTabAt(1).isSelected());
+    Assert.assertTrue(copy.getTabAt(2).isSelected());
+  }
+
+  /** A UI that runs the commands passed to access immediately, or drops them if deferred. */
+  private static class TestUI extends UI {
+    private boolean deferred;
+
+    @Override
+    public Future<Void> access(Command command) {
+      if (!deferred) {
+        command.execute();
+      }
+      return CompletableFuture.completedFuture(null);
+    }
+  }
+
+  @Test
+  public void testRoundTripOfAttachedTabs() throws ClassNotFoundException, IOException {
+    TestUI ui = new TestUI();
+    ui.add(createTabs(2));
+
+    // the application of this update is scheduled when the session is serialized
+    ui.deferred = true;
+    EnhancedTabs tabs = (EnhancedTabs) ui.getChildren().findFirst().get();
+    tabs.updateTabLabel(tabs.getTabAt(0), "x");
+
+    TestUI copyUI = testSerializationOf(ui);
+    copyUI.deferred = false;
+    EnhancedTabs copy = (EnhancedTabs) copyUI.getChildren().findFirst().get();
+    Tab tab = copy.getTabAt(0);
+    copy.updateTabBadge(tab, "3");
+    Assert.assertEquals("x", tab.getLabel());
+    Assert.assertEquals("x3", tab.getElement().getTextRecursively());
+  }
+
+  @Test
+  public void testNoopMetrics() throws ClassNotFoundException, IOException {
+    Assert.assertSame(EnhancedTabsMetrics.NOOP, testSerializationOf(EnhancedTabsMetrics.NOOP));
+  }
+
+  @Test
+  public void testSerializedSize() throws IOException {
+    int count = 1000;
+
+    // the cost of the tab components themselves, as the children of a plain container
+    Div plain = new Div();
+    int emptyPlain = serialize(plain).length;
+    for (int i = 0; i < count; i++) {
+      plain.add(new Tab("Tab " + i));
+    }
+    double tabCost = (serialize(plain).length - emptyPlain) / (double) count;
+
+    int empty = serialize(createTabs(0)).length;
+    int many = serialize(createTabs(count)).length;
+    double perTab = (many - empty) / (double) count;
+
+    // besides the tab, each tab only adds its menu item and the registration of the shared click
+    // listener
+    Assert.assertTrue(
+        String.format("%.0f bytes per tab, the tab alone takes %.0f bytes", perTab, tabCost),
+        perTab <= 3 * tabCost);
+  }
 }